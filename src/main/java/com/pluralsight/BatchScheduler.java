@@ -0,0 +1,101 @@
+package com.pluralsight;
+
+import com.pluralsight.datetime.Calendar;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * Schedules a stream of calendar definitions (see {@link CalendarReader}) in a bounded pipeline: the calling
+ * thread reads and parses definitions and hands each to a pool of workers, and a writer thread writes the
+ * rendered schedules in input order. At most {@code maxInFlight} calendars are held in memory at once;
+ * when that many are waiting to be built or written, reading blocks until the writer catches up.
+ */
+class BatchScheduler {
+
+	private static final Future<String> END_OF_INPUT = CompletableFuture.completedFuture(null);
+
+	private final int threads;
+	private final int maxInFlight;
+	private final Instant scheduleTime;
+
+	// scheduleTime is the time at which every schedule starts, or null for the time of building it
+	BatchScheduler(int threads, int maxInFlight, Instant scheduleTime) {
+		if (threads < 1 || maxInFlight < 1) {
+			throw new IllegalArgumentException("Thread count and in-flight limit must be positive");
+		}
+		this.threads = threads;
+		this.maxInFlight = maxInFlight;
+		this.scheduleTime = scheduleTime;
+	}
+
+	// Returns the number of calendars scheduled
+	long run(BufferedReader in, Writer out) throws IOException, InterruptedException {
+		BlockingQueue<Future<String>> results = new ArrayBlockingQueue<>(maxInFlight);
+		ExecutorService workers = Executors.newFixedThreadPool(threads, daemon("scheduler-worker"));
+		ExecutorService writer = Executors.newSingleThreadExecutor(daemon("scheduler-writer"));
+		Future<Void> written = writer.submit(() -> {
+			for (Future<String> result = results.take(); result != END_OF_INPUT; result = results.take()) {
+				out.write(result.get());
+			}
+			out.flush();
+			return null;
+		});
+
+		long count = 0;
+		try {
+			CalendarReader reader = new CalendarReader(in);
+			for (CalendarReader.CalendarDefinition definition = reader.next(); definition != null; definition = reader.next()) {
+				CalendarReader.CalendarDefinition d = definition;
+				Future<String> result = workers.submit(() -> render(d));
+				while (!results.offer(result, 1, TimeUnit.SECONDS)) {
+					checkWriter(written);  // don't wait forever on a writer that has failed
+				}
+				count++;
+			}
+			results.put(END_OF_INPUT);
+			written.get();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+			throw new IllegalStateException("Schedule writer failed", e.getCause());
+		} finally {
+			written.cancel(true);
+			workers.shutdownNow();
+			writer.shutdownNow();
+		}
+		return count;
+	}
+
+	private static void checkWriter(Future<Void> written) throws InterruptedException, ExecutionException {
+		if (written.isDone()) {
+			written.get();
+			throw new IllegalStateException("Schedule writer stopped early");
+		}
+	}
+
+	private String render(CalendarReader.CalendarDefinition definition) {
+		Calendar calendar = definition.getCalendar();
+		Clock clock = scheduleTime == null ? Clock.system(definition.getZone()) : Clock.fixed(scheduleTime, definition.getZone());
+		String body;
+		try {
+			body = calendar.createSchedule(clock).toString();
+		} catch (IllegalArgumentException e) {
+			body = "Schedule failed: " + e.getMessage();
+		}
+		// a successful schedule's rendering starts with a line break
+		return "== " + definition.getName() + (body.startsWith("\n") ? "" : "\n") + body + "\n";
+	}
+
+	private static ThreadFactory daemon(String name) {
+		return r -> {
+			Thread t = new Thread(r, name);
+			t.setDaemon(true);
+			return t;
+		};
+	}
+}
@@ -0,0 +1,144 @@
+package com.pluralsight;
+
+import com.pluralsight.datetime.Calendar;
+import com.pluralsight.datetime.Task;
+import com.pluralsight.datetime.WorkPeriod;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.*;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Reads calendar definitions one at a time from a text stream, so that inputs of any size can be processed
+ * in constant memory. Each definition has the form
+ * <pre>
+ * calendar &lt;name&gt; &lt;zone id&gt;
+ * period &lt;start local date-time&gt; &lt;end local date-time&gt;
+ * event &lt;start local date-time&gt; &lt;ISO-8601 duration&gt; &lt;description&gt;
+ * task &lt;ISO-8601 duration&gt; &lt;description&gt;
+ * end
+ * </pre>
+ * with any number of period, event and task lines, e.g. {@code period 2030-01-07T09:00 2030-01-07T12:30} or
+ * {@code task PT1H30M write report}. Blank lines and lines starting with # are ignored.
+ */
+class CalendarReader {
+
+	static class CalendarDefinition {
+		private final String name;
+		private final ZoneId zone;
+		private final Calendar calendar;
+
+		CalendarDefinition(String name, ZoneId zone, Calendar calendar) {
+			this.name = name;
+			this.zone = zone;
+			this.calendar = calendar;
+		}
+
+		String getName() {
+			return name;
+		}
+
+		ZoneId getZone() {
+			return zone;
+		}
+
+		Calendar getCalendar() {
+			return calendar;
+		}
+	}
+
+	private final BufferedReader reader;
+	private int lineNumber;
+
+	CalendarReader(BufferedReader reader) {
+		this.reader = reader;
+	}
+
+	// Returns the next calendar definition, or null at the end of the input
+	CalendarDefinition next() throws IOException {
+		String headerLine = nextLine();
+		if (headerLine == null) return null;
+		String[] header = headerLine.split("\\s+", 3);
+		if (!header[0].equals("calendar") || header.length < 3) {
+			throw error("expected 'calendar <name> <zone id>'");
+		}
+		String name = header[1];
+		ZoneId zone = parse(() -> ZoneId.of(header[2]));
+		Calendar calendar = new Calendar();
+		while (true) {
+			String line = nextLine();
+			if (line == null) throw error("missing 'end' for calendar " + name);
+			// the description, which may contain spaces, is the last field
+			String[] fields = line.split("\\s+", line.startsWith("task") ? 3 : 4);
+			switch (fields[0]) {
+				case "period":
+					requireFields(fields, 3, "period <start> <end>");
+					LocalDateTime start = parse(() -> LocalDateTime.parse(fields[1]));
+					LocalDateTime end = parse(() -> LocalDateTime.parse(fields[2]));
+					apply(() -> calendar.addWorkPeriod(new WorkPeriod(start, Duration.between(start, end))));
+					break;
+				case "event":
+					requireFields(fields, 3, "event <start> <duration> <description>");
+					ZonedDateTime eventStart = parse(() -> LocalDateTime.parse(fields[1]).atZone(zone));
+					Duration eventDuration = parse(() -> Duration.parse(fields[2]));
+					apply(() -> calendar.addEvent(eventStart, eventDuration, description(fields, 3)));
+					break;
+				case "task":
+					requireFields(fields, 2, "task <duration> <description>");
+					Duration taskDuration = parse(() -> Duration.parse(fields[1]));
+					apply(() -> calendar.addTask(new Task(taskDuration, description(fields, 2))));
+					break;
+				case "end":
+					return new CalendarDefinition(name, zone, calendar);
+				default:
+					throw error("unknown line type '" + fields[0] + "'");
+			}
+		}
+	}
+
+	// Returns the next non-blank, non-comment line, trimmed, or null at the end of the input
+	private String nextLine() throws IOException {
+		String line;
+		do {
+			line = reader.readLine();
+			lineNumber++;
+			if (line == null) return null;
+			line = line.trim();
+		} while (line.isEmpty() || line.startsWith("#"));
+		return line;
+	}
+
+	private void requireFields(String[] fields, int count, String expected) {
+		if (fields.length < count) throw error("expected '" + expected + "'");
+	}
+
+	private static String description(String[] fields, int index) {
+		return fields.length > index ? fields[index] : "";
+	}
+
+	private interface Parser<T> {
+		T parse();
+	}
+
+	private <T> T parse(Parser<T> parser) {
+		try {
+			return parser.parse();
+		} catch (DateTimeException e) {
+			throw error(e.getMessage());
+		}
+	}
+
+	// Makes a change to the calendar being read, reporting its rejection with the line number
+	private void apply(Runnable change) {
+		try {
+			change.run();
+		} catch (IllegalArgumentException e) {
+			throw error(e.getMessage());
+		}
+	}
+
+	private IllegalArgumentException error(String message) {
+		return new IllegalArgumentException("line " + lineNumber + ": " + message);
+	}
+}
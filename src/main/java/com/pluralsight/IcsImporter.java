@@ -0,0 +1,314 @@
+package com.pluralsight;
+
+import com.pluralsight.datetime.Calendar;
+import com.pluralsight.datetime.Event;
+import com.pluralsight.datetime.RecurrenceRule;
+import com.pluralsight.datetime.RecurringEventSource;
+import com.pluralsight.datetime.WorkPeriod;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Imports events and availability from iCalendar (RFC 5545) data into a {@link Calendar}. The data is read
+ * through a channel one content line at a time, and events are added in batches, so files of any size are
+ * imported without being held in memory.
+ * <p>
+ * Each VEVENT becomes an {@link Event}, at times in its TZID, in UTC, or in the importer's zone if floating;
+ * an all-day event covers the whole of its days in the importer's zone, and an event longer than 24 hours is
+ * divided at midnights. Cancelled and transparent (free) events are skipped. A VEVENT with an RRULE is kept
+ * as a {@link RecurringEventSource} rather than expanded; EXDATEs and RECURRENCE-ID overrides are not
+ * applied. Each AVAILABLE component of a VAVAILABILITY becomes a {@link WorkPeriod} in the importer's zone,
+ * repeated up to the horizon if it has an RRULE. Other components, including VTIMEZONE, are skipped; zones
+ * are resolved by their TZID names.
+ */
+public class IcsImporter {
+
+	private static final int BATCH_SIZE = 10_000;
+	private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+	private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+	private final ZoneId zone;
+	private final Instant horizon;
+
+	// zone is the calendar's zone; occurrences of repeating events and periods after the horizon are left out
+	public IcsImporter(ZoneId zone, Instant horizon) {
+		this.zone = zone;
+		this.horizon = horizon;
+	}
+
+	public long importFile(Path file, Calendar calendar) throws IOException {
+		try (FileChannel channel = FileChannel.open(file)) {
+			return importFrom(channel, calendar);
+		}
+	}
+
+	/**
+	 * Reads the channel to its end, adding to the calendar as it goes, and returns the number of events and
+	 * repeating events imported.
+	 *
+	 * @throws IllegalArgumentException if the data is malformed, naming the line where the problem was found
+	 */
+	public long importFrom(ReadableByteChannel channel, Calendar calendar) throws IOException {
+		return new Import(new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8), 1 << 16), calendar).run();
+	}
+
+	// A content line, name;param=value;...:value, with the name and parameter names in upper case
+	private static final class Property {
+		final String name;
+		final Map<String, String> params;
+		final String value;
+		final int line;
+
+		Property(String name, Map<String, String> params, String value, int line) {
+			this.name = name;
+			this.params = params;
+			this.value = value;
+			this.line = line;
+		}
+	}
+
+	private final class Import {
+		private final BufferedReader reader;
+		private final Calendar calendar;
+		private final Deque<String> components = new ArrayDeque<>();
+		private final Map<String, Property> properties = new HashMap<>();
+		private final List<Event> events = new ArrayList<>();
+		private final List<WorkPeriod> periods = new ArrayList<>();
+		private String lookahead;
+		private int lineNumber;       // of the line after the lookahead
+		private int propertyLine;     // of the start of the last content line returned
+		private long imported;
+
+		Import(BufferedReader reader, Calendar calendar) {
+			this.reader = reader;
+			this.calendar = calendar;
+		}
+
+		long run() throws IOException {
+			lookahead = reader.readLine();
+			lineNumber = 1;
+			String line;
+			while ((line = nextContentLine()) != null) {
+				if (line.isEmpty()) continue;
+				Property p = parseProperty(line);
+				if (p.name.equals("BEGIN")) {
+					components.push(p.value.toUpperCase());
+					if (isImported(components.peek())) properties.clear();
+				} else if (p.name.equals("END")) {
+					String component = components.poll();
+					if (component == null || !component.equals(p.value.toUpperCase())) {
+						throw error("END:" + p.value + " does not match BEGIN:" + component);
+					}
+					if (component.equals("VEVENT")) addEvent();
+					if (component.equals("AVAILABLE")) addAvailability();
+				} else if (!components.isEmpty() && isImported(components.peek())) {
+					properties.put(p.name, p);
+				}
+			}
+			if (!components.isEmpty()) throw error("missing END:" + components.peek());
+			flushEvents();
+			flushPeriods();
+			return imported;
+		}
+
+		private boolean isImported(String component) {
+			return component.equals("VEVENT") || component.equals("AVAILABLE");
+		}
+
+		// Returns the next logical line, with any folded continuation lines joined to it, or null at the end
+		private String nextContentLine() throws IOException {
+			if (lookahead == null) return null;
+			propertyLine = lineNumber;
+			StringBuilder line = new StringBuilder(lookahead);
+			while (true) {
+				lookahead = reader.readLine();
+				lineNumber++;
+				if (lookahead == null || lookahead.isEmpty()
+						|| (lookahead.charAt(0) != ' ' && lookahead.charAt(0) != '\t')) {
+					return line.toString();
+				}
+				line.append(lookahead, 1, lookahead.length());
+			}
+		}
+
+		private Property parseProperty(String line) {
+			int colon = -1;
+			boolean quoted = false;
+			for (int i = 0; i < line.length() && colon < 0; i++) {
+				char c = line.charAt(i);
+				if (c == '"') quoted = !quoted;
+				else if (c == ':' && !quoted) colon = i;
+			}
+			if (colon < 0) throw error("expected 'name:value'");
+			String[] nameAndParams = line.substring(0, colon).split(";");
+			Map<String, String> params = new HashMap<>();
+			for (int i = 1; i < nameAndParams.length; i++) {
+				int equals = nameAndParams[i].indexOf('=');
+				if (equals < 0) throw error("malformed parameter '" + nameAndParams[i] + "'");
+				String value = nameAndParams[i].substring(equals + 1);
+				if (value.startsWith("\"") && value.endsWith("\"") && value.length() > 1) {
+					value = value.substring(1, value.length() - 1);
+				}
+				params.put(nameAndParams[i].substring(0, equals).toUpperCase(), value);
+			}
+			return new Property(nameAndParams[0].toUpperCase(), params, line.substring(colon + 1), propertyLine);
+		}
+
+		private void addEvent() {
+			if (isSkipped()) return;
+			ZonedDateTime start = dateTime(required("DTSTART"));
+			Duration duration = duration(start);
+			String description = text(properties.get("SUMMARY"));
+			Property rrule = properties.get("RRULE");
+			imported++;
+			if (rrule != null) {
+				try {
+					calendar.addEventSource(new RecurringEventSource(start, duration, description,
+							RecurrenceRule.parse(rrule.value, start.getZone()), horizon));
+				} catch (IllegalArgumentException e) {
+					throw error(rrule, e.getMessage());
+				}
+				return;
+			}
+			ZonedDateTime end = start.plus(duration);
+			// events over 24 hours long are divided at midnights, and any part still too long at 24 hours
+			while (Duration.between(start, end).compareTo(Duration.ofDays(1)) > 0) {
+				ZonedDateTime midnight = start.toLocalDate().plusDays(1).atStartOfDay(start.getZone());
+				ZonedDateTime partEnd = midnight.isAfter(start.plusDays(1)) ? start.plusHours(24) : midnight;
+				events.add(Event.of(start, partEnd, description));
+				start = partEnd;
+			}
+			events.add(Event.of(start, end, description));
+			if (events.size() >= BATCH_SIZE) flushEvents();
+		}
+
+		private boolean isSkipped() {
+			Property status = properties.get("STATUS");
+			Property transparency = properties.get("TRANSP");
+			return (status != null && status.value.equalsIgnoreCase("CANCELLED"))
+					|| (transparency != null && transparency.value.equalsIgnoreCase("TRANSPARENT"));
+		}
+
+		private void addAvailability() {
+			ZonedDateTime first = dateTime(required("DTSTART"));
+			Duration duration = duration(first);
+			Property rrule = properties.get("RRULE");
+			if (rrule == null) {
+				addPeriod(first, duration);
+				return;
+			}
+			try {
+				Iterator<ZonedDateTime> starts = RecurrenceRule.parse(rrule.value, first.getZone()).occurrences(first, horizon);
+				while (starts.hasNext()) addPeriod(starts.next(), duration);
+			} catch (IllegalArgumentException e) {
+				throw error(rrule, e.getMessage());
+			}
+		}
+
+		private void addPeriod(ZonedDateTime start, Duration duration) {
+			LocalDateTime localStart = start.withZoneSameInstant(zone).toLocalDateTime();
+			LocalDateTime localEnd = start.plus(duration).withZoneSameInstant(zone).toLocalDateTime();
+			periods.add(new WorkPeriod(localStart, localEnd, List.of()));
+			if (periods.size() >= BATCH_SIZE) flushPeriods();
+		}
+
+		private void flushEvents() {
+			if (events.isEmpty()) return;
+			calendar.addEvents(events);
+			events.clear();
+		}
+
+		private void flushPeriods() {
+			try {
+				calendar.addWorkPeriods(periods);
+			} catch (IllegalArgumentException e) {
+				throw error(e.getMessage());
+			}
+			periods.clear();
+		}
+
+		private Property required(String name) {
+			Property p = properties.get(name);
+			if (p == null) throw error("component has no " + name);
+			return p;
+		}
+
+		private ZonedDateTime dateTime(Property p) {
+			try {
+				String value = p.value;
+				if ("DATE".equalsIgnoreCase(p.params.get("VALUE")) || value.length() == 8) {
+					return LocalDate.parse(value, DATE).atStartOfDay(zone);
+				}
+				if (value.endsWith("Z")) {
+					return LocalDateTime.parse(value.substring(0, value.length() - 1), DATE_TIME).atZone(ZoneOffset.UTC);
+				}
+				String tzid = p.params.get("TZID");
+				ZoneId valueZone = tzid == null ? zone : ZoneId.of(tzid.startsWith("/") ? tzid.substring(1) : tzid);
+				return LocalDateTime.parse(value, DATE_TIME).atZone(valueZone);
+			} catch (DateTimeException e) {
+				throw error(p, e.getMessage());
+			}
+		}
+
+		// From DTEND or DURATION; otherwise a day for an all-day start, or nothing
+		private Duration duration(ZonedDateTime start) {
+			Property end = properties.get("DTEND");
+			if (end != null) {
+				Duration d = Duration.between(start, dateTime(end));
+				if (d.isNegative()) throw error("DTEND is before DTSTART");
+				return d;
+			}
+			Property duration = properties.get("DURATION");
+			if (duration != null) {
+				try {
+					String value = duration.value.startsWith("+") ? duration.value.substring(1) : duration.value;
+					if (value.endsWith("W")) return Duration.ofDays(7 * Long.parseLong(value.substring(1, value.length() - 1)));
+					return Duration.parse(value);
+				} catch (RuntimeException e) {
+					throw error(duration, "malformed DURATION '" + duration.value + "'");
+				}
+			}
+			Property dtstart = properties.get("DTSTART");
+			boolean allDay = "DATE".equalsIgnoreCase(dtstart.params.get("VALUE")) || dtstart.value.length() == 8;
+			return allDay ? Duration.between(start, start.plusDays(1)) : Duration.ZERO;
+		}
+
+		private String text(Property p) {
+			if (p == null) return "";
+			StringBuilder sb = new StringBuilder(p.value.length());
+			for (int i = 0; i < p.value.length(); i++) {
+				char c = p.value.charAt(i);
+				if (c == '\\' && i + 1 < p.value.length()) {
+					char escaped = p.value.charAt(++i);
+					sb.append(escaped == 'n' || escaped == 'N' ? '\n' : escaped);
+				} else {
+					sb.append(c);
+				}
+			}
+			return sb.toString();
+		}
+
+		private IllegalArgumentException error(String message) {
+			return new IllegalArgumentException("line " + propertyLine + ": " + message);
+		}
+
+		private IllegalArgumentException error(Property p, String message) {
+			return new IllegalArgumentException("line " + p.line + ": " + message);
+		}
+	}
+}
@@ -1,8 +1,59 @@
 package com.pluralsight;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Instant;
+
+/**
+ * Batch entry point: schedules every calendar in an input file, writing the schedules to an output file.
+ * See {@link CalendarReader} for the input format.
+ */
 public class TaskScheduler {
 
-    public static void main(String[] args) {
+	private static final String USAGE = "usage: TaskScheduler <input file> <output file> " +
+			"[--threads <n>] [--max-in-flight <n>] [--at <ISO-8601 instant>]";
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		if (args.length < 2 || args.length % 2 != 0) {
+			System.err.println(USAGE);
+			System.exit(2);
+		}
+		int threads = Runtime.getRuntime().availableProcessors();
+		int maxInFlight = 4 * threads;
+		Instant scheduleTime = null;
+		for (int i = 2; i < args.length; i += 2) {
+			switch (args[i]) {
+				case "--threads":
+					threads = Integer.parseInt(args[i + 1]);
+					break;
+				case "--max-in-flight":
+					maxInFlight = Integer.parseInt(args[i + 1]);
+					break;
+				case "--at":
+					scheduleTime = Instant.parse(args[i + 1]);
+					break;
+				default:
+					System.err.println(USAGE);
+					System.exit(2);
+			}
+		}
 
-    }
+		BatchScheduler scheduler = new BatchScheduler(threads, maxInFlight, scheduleTime);
+		long startNanos = System.nanoTime();
+		long count;
+		try (BufferedReader in = Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8);
+			 BufferedWriter out = Files.newBufferedWriter(Paths.get(args[1]), StandardCharsets.UTF_8)) {
+			count = scheduler.run(in, out);
+		} catch (IllegalArgumentException e) {
+			System.err.println(args[0] + ": " + e.getMessage());
+			System.exit(1);
+			return;
+		}
+		double seconds = (System.nanoTime() - startNanos) / 1e9;
+		System.err.printf("Scheduled %d calendars in %.2fs (%.0f calendars/s)%n", count, seconds, count / seconds);
+	}
 }
@@ -0,0 +1,132 @@
+package com.pluralsight.datetime;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Rebuilds a calendar's schedule in the background once a burst of changes has settled, rather than after
+ * every change. A build runs when the calendar has been left unchanged for the quiet period, or when the
+ * maximum delay has passed since the first change of the burst, whichever is sooner. Each change records an
+ * O(1) {@link Calendar#fork() fork} of the calendar, so the build works on the state after the last change
+ * without reading the calendar while it is being changed; the build itself runs on the given executor.
+ * Only one timer is kept pending however many changes arrive, but on a multi-threaded executor the build for
+ * one burst may still be running when that for the next starts.
+ * <p>
+ * Each schedule built is published to {@link #getLatestSchedule} and then to the listeners, on the
+ * executor's thread, unless a schedule of a later change has been published already; so the published
+ * schedule never goes back in time. A build that throws, as for a cycle of task dependencies, publishes nothing.
+ */
+public class BackgroundRescheduler implements CalendarChangeListener, AutoCloseable {
+
+	private final Calendar calendar;
+	private final Clock clock;
+	private final ScheduledExecutorService executor;
+	private final Duration quietPeriod;
+	private final Duration maxDelay;
+	private final AtomicReference<Schedule> latestSchedule = new AtomicReference<>();
+	private final List<Consumer<Schedule>> listeners = new CopyOnWriteArrayList<>();
+	private final Object publishLock = new Object();
+	private long publishedSequence;    // guarded by publishLock
+
+	// guarded by this
+	private long changeSequence;
+	private Calendar pendingSnapshot;
+	private Instant burstStart;
+	private Instant lastChange;
+	private ScheduledFuture<?> pendingBuild;
+
+	public BackgroundRescheduler(Calendar calendar, Clock clock, ScheduledExecutorService executor,
+								 Duration quietPeriod, Duration maxDelay) {
+		if (quietPeriod.isNegative() || maxDelay.compareTo(quietPeriod) < 0) {
+			throw new IllegalArgumentException("Need 0 <= quiet period <= maximum delay, not " + quietPeriod + " and " + maxDelay);
+		}
+		this.calendar = calendar;
+		this.clock = clock;
+		this.executor = executor;
+		this.quietPeriod = quietPeriod;
+		this.maxDelay = maxDelay;
+		calendar.addChangeListener(this);
+	}
+
+	public Schedule getLatestSchedule() {
+		return latestSchedule.get();
+	}
+
+	// The listener is given the latest schedule, if there is one, and then each one published after it
+	public BackgroundRescheduler addScheduleListener(Consumer<Schedule> listener) {
+		synchronized (publishLock) {
+			listeners.add(listener);
+			Schedule latest = latestSchedule.get();
+			if (latest != null) listener.accept(latest);
+		}
+		return this;
+	}
+
+	public BackgroundRescheduler removeScheduleListener(Consumer<Schedule> listener) {
+		listeners.remove(listener);
+		return this;
+	}
+
+	@Override
+	public synchronized void calendarChanged(Calendar changed) {
+		pendingSnapshot = changed.fork();
+		changeSequence++;
+		lastChange = clock.instant();
+		if (burstStart == null) burstStart = lastChange;
+		// an existing timer checks again when it fires, so later changes in the burst cost no executor call
+		if (pendingBuild == null) scheduleCheck(quietPeriod);
+	}
+
+	// Stops listening to the calendar; a pending build is cancelled, but one already running completes
+	@Override
+	public synchronized void close() {
+		calendar.removeChangeListener(this);
+		if (pendingBuild != null) pendingBuild.cancel(false);
+		pendingBuild = null;
+		pendingSnapshot = null;
+		burstStart = null;
+	}
+
+	private void scheduleCheck(Duration delay) {
+		pendingBuild = executor.schedule(this::checkAndBuild, Math.max(0, delay.toNanos()), TimeUnit.NANOSECONDS);
+	}
+
+	private void checkAndBuild() {
+		Calendar snapshot;
+		long sequence;
+		synchronized (this) {
+			if (pendingSnapshot == null) return;
+			Instant now = clock.instant();
+			Instant quietUntil = lastChange.plus(quietPeriod);
+			Instant deadline = burstStart.plus(maxDelay);
+			Instant due = quietUntil.isBefore(deadline) ? quietUntil : deadline;
+			if (now.isBefore(due)) {
+				scheduleCheck(Duration.between(now, due));
+				return;
+			}
+			snapshot = pendingSnapshot;
+			sequence = changeSequence;
+			pendingSnapshot = null;
+			burstStart = null;
+			pendingBuild = null;
+		}
+		Schedule schedule = snapshot.createSchedule(clock);
+		// listeners are called under the lock too, so they see schedules in the order of their changes
+		synchronized (publishLock) {
+			if (sequence <= publishedSequence) return;
+			publishedSequence = sequence;
+			latestSchedule.set(schedule);
+			for (Consumer<Schedule> listener : listeners) {
+				listener.accept(schedule);
+			}
+		}
+	}
+}
@@ -2,76 +2,229 @@ package com.pluralsight.datetime;
 
 import java.time.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.NavigableSet;
-import java.util.TreeSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.UnaryOperator;
+import java.util.stream.StreamSupport;
 
-import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.Collectors.toList;
 
+/**
+ * A Calendar holds its work periods, events and tasks in persistent (structurally shared) collections,
+ * so {@link #fork()} is O(1) and each subsequent change to either calendar costs O(log n) without
+ * affecting the other. Work periods are identified by their start times, and events and tasks by their ids.
+ * Besides its own events, a calendar may refer to shared, read-only {@link EventSource}s, which are merged
+ * with them as the schedule is built.
+ */
 public class Calendar {
 
-	final private NavigableSet<WorkPeriod> workPeriods = new TreeSet<>(); // ordered by start time
-	final private NavigableSet<Event> events = new TreeSet<>();		      // ordered by start time
-	final private List<Task> tasks = new ArrayList<>();                   // ordered by priority
+	private PersistentTreeSet<WorkPeriod> workPeriods = PersistentTreeSet.empty(); // ordered by start time
+	private PersistentTreeSet<Event> events = PersistentTreeSet.empty();           // ordered by start time
+	private PersistentTreeMap<Long, Task> tasks = PersistentTreeMap.empty();       // ordered by priority
+	private PersistentTreeMap<Long, Event> eventsById = PersistentTreeMap.empty();
+	private PersistentTreeMap<Long, Long> taskPrioritiesById = PersistentTreeMap.empty();
+	private List<EventSource> eventSources = List.of();                            // replaced, never modified
+	private long nextTaskSequence;
+	private long version;
+	private SchedulingListener schedulingListener = SchedulingListener.NONE;
+	private List<CalendarChangeListener> changeListeners = List.of();               // replaced, never modified
 
+	public Calendar() {
+	}
+
+	private Calendar(Calendar original) {
+		this.workPeriods = original.workPeriods;
+		this.events = original.events;
+		this.tasks = original.tasks;
+		this.eventsById = original.eventsById;
+		this.taskPrioritiesById = original.taskPrioritiesById;
+		this.eventSources = original.eventSources;
+		this.nextTaskSequence = original.nextTaskSequence;
+		this.version = original.version;
+		this.schedulingListener = original.schedulingListener;
+	}
+
+	// Returns an independent copy of this calendar for "what-if" changes, sharing all existing content
+	public Calendar fork() {
+		return new Calendar(this);
+	}
+
+	/**
+	 * Fills the work periods not overwritten by events with the calendar's tasks, in priority order except
+	 * where a task must follow its {@link Task#after predecessors}. If any task has an earliest start or a
+	 * daily window, tasks are placed as described by {@link ConstrainedPlacement} instead.
+	 *
+	 * @throws IllegalArgumentException if task dependencies form a cycle, or name a task not in this calendar
+	 */
 	public Schedule createSchedule(Clock clock) {
+		boolean instrumented = schedulingListener != SchedulingListener.NONE;
+		long startNanos = instrumented ? System.nanoTime() : 0;
+
 	 	//TODO (maybe) save overwritePeriodsByEvents from having to consider periods and events in the past
-		NavigableSet<WorkPeriod> overwrittenPeriods = overwritePeriodsByEvents(workPeriods, events, clock.getZone());
-		LocalDateTime ldt = LocalDateTime.now(clock);
+		Collection<Event> allEvents = getEvents();
+		ParallelPeriodEventMerger merger = new ParallelPeriodEventMerger(workPeriods, allEvents, clock.getZone());
+		List<WorkPeriod> overwrittenPeriods = merger.merge();
+		long mergedNanos = instrumented ? System.nanoTime() : 0;
 
-		List<TaskPart> remainingTaskParts = tasks.stream().map(TaskPart::wholeOf).collect(toList());
+		LocalDateTime ldt = LocalDateTime.now(clock);
+		List<TaskPart> remainingTaskParts = taskPartsInScheduleOrder();
 
 		List<WorkPeriod> scheduledPeriods = new ArrayList<>();
-		for (WorkPeriod p : overwrittenPeriods) {
-			LocalDateTime effectiveStartTime = p.getStartTime().isAfter(ldt) ? p.getStartTime() : ldt;
-			// TODO doesn't allow for DST changes during WorkPeriod
-			if (WorkPeriod.MINIMUM_DURATION.minus(Duration.between(effectiveStartTime, p.getEndTime())).isNegative()) {
-				p.setTaskParts(remainingTaskParts);
-				scheduledPeriods.add(p.split(p.getEndTime()).orElseThrow(IllegalStateException::new));
-				remainingTaskParts = p.getTaskParts();
+		boolean successful;
+		if (hasConstrainedTask(remainingTaskParts)) {
+			for (WorkPeriod p : overwrittenPeriods) {
+				if (isSchedulable(p, ldt)) {
+					scheduledPeriods.add(p.getStartTime().isBefore(ldt) ? p.split(ldt).get().getAfter() : p);
+				}
 			}
+			ConstrainedPlacement placement = ConstrainedPlacement.place(scheduledPeriods, remainingTaskParts, ldt);
+			scheduledPeriods = placement.getScheduledPeriods();
+			successful = placement.isSuccessful();
+		} else {
+			for (WorkPeriod p : overwrittenPeriods) {
+				if (isSchedulable(p, ldt)) {
+					WorkPeriod.Split filled = fill(p, ldt, remainingTaskParts);
+					scheduledPeriods.add(filled.getBefore());
+					remainingTaskParts = filled.getAfter().getTaskParts();
+				}
+			}
+			successful = remainingTaskParts.isEmpty();
 		}
-		return new Schedule(clock.getZone(), scheduledPeriods, events, remainingTaskParts.isEmpty());
-	}
-
-	NavigableSet<WorkPeriod> overwritePeriodsByEvents(ZoneId zone) {
-		return overwritePeriodsByEvents(workPeriods, events, zone);
-	}
-
-	private NavigableSet<WorkPeriod> overwritePeriodsByEvents(NavigableSet<WorkPeriod> workPeriods, NavigableSet<Event> events,
-													  ZoneId zone) {
-		NavigableSet<WorkPeriod> rawPeriods = workPeriods.stream()
-				.map(WorkPeriod::copy)
-				.collect(toCollection(TreeSet::new));
-		NavigableSet<WorkPeriod> overwrittenPeriods = new TreeSet<>();
-		WorkPeriod period = rawPeriods.pollFirst();
-		Event event = events.isEmpty() ? null : events.first();
-		while (period != null && event != null) {
-			if (! period.getEndTime().isAfter(event.getLocalStartDateTime(zone))) {
-				// non-overlapping, period first
-				overwrittenPeriods.add(period);
-				period = rawPeriods.higher(period);
-			} else if (! period.getStartTime().isBefore(event.getLocalEndDateTime(zone))) {
-				// non-overlapping, event first
-				event = events.higher(event);
-			} else if (period.getStartTime().isBefore(event.getLocalStartDateTime(zone))) {
-				// overlapping, period starts first
-				overwrittenPeriods.add(period.split(event.getLocalStartDateTime(zone)).get());
-			} else if (period.getEndTime().isAfter(event.getLocalEndDateTime(zone))) {
-				// overlapping, event starts first or at same time
-				period.split(event.getLocalEndDateTime(zone)).get();
-				event = events.higher(event);
-			} else {
-				// event encloses period
-				period = workPeriods.higher(period);
+		Schedule schedule = new Schedule(clock.getZone(), scheduledPeriods, allEvents, successful);
+
+		if (instrumented) {
+			long endNanos = System.nanoTime();
+			int taskPartCount = 0;
+			int taskPartSplitCount = 0;
+			for (WorkPeriod p : scheduledPeriods) {
+				for (TaskPart taskPart : p.getTaskParts()) {
+					taskPartCount++;
+					if (taskPart.getPartSequenceNumber() > 1) taskPartSplitCount++;
+				}
 			}
+			schedulingListener.scheduleBuilt(new SchedulingStats(mergedNanos - startNanos, endNanos - mergedNanos,
+					endNanos - startNanos, workPeriods.size(), allEvents.size(), taskPartCount, merger.getSplitCount(),
+					taskPartSplitCount, schedule.isSuccessful()));
+		}
+		return schedule;
+	}
+
+	/**
+	 * The periods of the schedule that {@link #createSchedule} would build, computed one at a time as the
+	 * iterator is advanced. The iterator works on the calendar's content at the time of this call.
+	 */
+	public Iterator<WorkPeriod> scheduledPeriods(Clock clock) {
+		List<TaskPart> taskParts = taskPartsInScheduleOrder();
+		if (hasConstrainedTask(taskParts)) {
+			// a constrained task may be placed in any period, so none is final until all are placed
+			return createSchedule(clock).getScheduledPeriods().iterator();
+		}
+		PeriodEventMerger merger = new PeriodEventMerger(workPeriods.iterator(), getEvents().iterator(), clock.getZone());
+		return new ScheduledPeriodIterator(merger, LocalDateTime.now(clock), taskParts);
+	}
+
+	// As scheduledPeriods, but published to each subscriber on the common fork-join pool
+	public Flow.Publisher<WorkPeriod> schedulePublisher(Clock clock) {
+		return schedulePublisher(clock, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * As {@link #scheduledPeriods}, but published to each subscriber on the given executor. Periods are
+	 * computed only as they are requested, and no more once the subscription is cancelled. The clock is read
+	 * when each subscriber first requests a period.
+	 */
+	public Flow.Publisher<WorkPeriod> schedulePublisher(Clock clock, Executor executor) {
+		Calendar snapshot = fork();
+		return new IteratorPublisher<>(() -> snapshot.scheduledPeriods(clock), executor);
+	}
+
+	// The whole of each task, in the order in which periods are to be filled with them
+	List<TaskPart> taskPartsInScheduleOrder() {
+		List<Task> tasksByPriority = StreamSupport.stream(tasks.spliterator(), false)
+				.map(Map.Entry::getValue)
+				.collect(toList());
+		// filling periods in this order ensures that no task starts before its predecessors have finished
+		return TaskGraph.topologicalOrder(tasksByPriority).stream()
+				.map(TaskPart::wholeOf)
+				.collect(toList());
+	}
+
+	// Whether any task needs ConstrainedPlacement rather than filling periods in order
+	static boolean hasConstrainedTask(List<TaskPart> taskParts) {
+		for (TaskPart tp : taskParts) {
+			if (tp.getOwner().isConstrained()) return true;
 		}
-		if (period != null) {
-			overwrittenPeriods.add(period);
-			overwrittenPeriods.addAll(rawPeriods.tailSet(period));
+		return false;
+	}
+
+	// Whether enough of p remains after now to be worth scheduling work in
+	static boolean isSchedulable(WorkPeriod p, LocalDateTime now) {
+		LocalDateTime effectiveStartTime = p.getStartTime().isAfter(now) ? p.getStartTime() : now;
+		// TODO doesn't allow for DST changes during WorkPeriod
+		return WorkPeriod.MINIMUM_DURATION.minus(Duration.between(effectiveStartTime, p.getEndTime())).isNegative();
+	}
+
+	// Fills the part of a schedulable period after now with as many of taskParts as fit; the first half of
+	// the result is the filled period and the second holds the parts left over
+	static WorkPeriod.Split fill(WorkPeriod p, LocalDateTime now, List<TaskPart> taskParts) {
+		WorkPeriod remaining = p.getStartTime().isBefore(now) ? p.split(now).get().getAfter() : p;
+		return remaining.withTaskParts(taskParts).split(remaining.getEndTime()).orElseThrow(IllegalStateException::new);
+	}
+
+	// The calendar's own events and those of its sources, as one collection in event order
+	Collection<Event> getEvents() {
+		if (eventSources.isEmpty()) return events;
+		List<Iterable<Event>> layers = new ArrayList<>(eventSources.size() + 1);
+		layers.add(events);
+		layers.addAll(eventSources);
+		int size = events.size();
+		for (EventSource source : eventSources) size += source.size();
+		return new MergedEvents(layers, size);
+	}
+
+	// Merged in parallel for large calendars; see ParallelPeriodEventMerger
+	List<WorkPeriod> overwritePeriodsByEvents(ZoneId zone) {
+		return new ParallelPeriodEventMerger(workPeriods, getEvents(), zone).merge();
+	}
+
+	// Increases with every change to the calendar's content
+	public long getVersion() {
+		return version;
+	}
+
+	// Told of each change to this calendar, but not of changes to its forks
+	public Calendar addChangeListener(CalendarChangeListener listener) {
+		List<CalendarChangeListener> listeners = new ArrayList<>(changeListeners);
+		listeners.add(Objects.requireNonNull(listener));
+		changeListeners = List.copyOf(listeners);
+		return this;
+	}
+
+	public Calendar removeChangeListener(CalendarChangeListener listener) {
+		List<CalendarChangeListener> listeners = new ArrayList<>(changeListeners);
+		listeners.remove(listener);
+		changeListeners = List.copyOf(listeners);
+		return this;
+	}
+
+	private void changed() {
+		version++;
+		for (CalendarChangeListener listener : changeListeners) {
+			listener.calendarChanged(this);
 		}
-		return overwrittenPeriods;
+	}
+
+	// Receives timings and counts for each schedule built from this calendar and its forks
+	public Calendar setSchedulingListener(SchedulingListener listener) {
+		schedulingListener = Objects.requireNonNull(listener);
+		return this;
 	}
 
 	public Calendar addWorkPeriod(WorkPeriod p) {
@@ -82,7 +235,8 @@ public class Calendar {
 		} else if (following != null && ! following.getStartTime().isAfter(p.getEndTime())) {
 			throw new IllegalArgumentException("Work Periods cannot overlap: " + p + "," + following);
 		}
-		workPeriods.add(p);
+		workPeriods = workPeriods.with(p);
+		changed();
 		return this;
 	}
 
@@ -99,12 +253,24 @@ public class Calendar {
 	}
 
 	public Calendar addTask(Task task) {
-		tasks.add(task);
+		if (taskPrioritiesById.containsKey(task.getId())) {
+			throw new IllegalArgumentException("Task is already in calendar: " + task.getDescription());
+		}
+		long priority = nextTaskSequence++;
+		tasks = tasks.put(priority, task);
+		taskPrioritiesById = taskPrioritiesById.put(task.getId(), priority);
+		changed();
 		return this;
 	}
 
 	public Calendar addEvent(Event e) {
-		events.add(e);
+		Event previous = eventsById.get(e.getId());
+		if (previous != null) {
+			events = events.without(previous);
+		}
+		events = events.with(e);
+		eventsById = eventsById.put(e.getId(), e);
+		changed();
 		return this;
 	}
 
@@ -112,4 +278,140 @@ public class Calendar {
 		addEvent(Event.of(eventDateTime, eventDateTime.plus(duration), description));
 		return this;
 	}
+
+	/**
+	 * Adds the events as {@link #addEvent} would, each replacing any event with the same id, but as one change.
+	 * A batch that is large compared with the calendar's events is merged with them in a single pass.
+	 */
+	public Calendar addEvents(Collection<Event> newEvents) {
+		Map<Long, Event> byId = new LinkedHashMap<>();
+		for (Event e : newEvents) byId.put(e.getId(), e);
+		for (Event e : byId.values()) {
+			Event previous = eventsById.get(e.getId());
+			if (previous != null) events = events.without(previous);
+		}
+		events = events.withAll(byId.values());
+		eventsById = eventsById.putAll(byId.entrySet());
+		changed();
+		return this;
+	}
+
+	// Adds a layer of events shared with other calendars; it is referred to, not copied
+	public Calendar addEventSource(EventSource source) {
+		List<EventSource> sources = new ArrayList<>(eventSources);
+		sources.add(Objects.requireNonNull(source));
+		eventSources = List.copyOf(sources);
+		changed();
+		return this;
+	}
+
+	public Calendar removeEventSource(EventSource source) {
+		List<EventSource> sources = new ArrayList<>(eventSources);
+		if (!sources.remove(source)) {
+			throw new IllegalArgumentException("Event source is not in calendar");
+		}
+		eventSources = List.copyOf(sources);
+		changed();
+		return this;
+	}
+
+	public Calendar removeWorkPeriod(LocalDateTime startTime) {
+		workPeriods = workPeriods.without(getWorkPeriod(startTime));
+		changed();
+		return this;
+	}
+
+	// Moves the end of the work period starting at startTime, which may not then overlap the following period
+	public Calendar updateWorkPeriod(LocalDateTime startTime, LocalDateTime newEndTime) {
+		WorkPeriod p = getWorkPeriod(startTime);
+		WorkPeriod updated = new WorkPeriod(startTime, newEndTime, p.getTaskParts());
+		WorkPeriod following = workPeriods.higher(p);
+		if (following != null && ! following.getStartTime().isAfter(newEndTime)) {
+			throw new IllegalArgumentException("Work Periods cannot overlap: " + updated + "," + following);
+		}
+		workPeriods = workPeriods.with(updated);
+		changed();
+		return this;
+	}
+
+	private WorkPeriod getWorkPeriod(LocalDateTime startTime) {
+		WorkPeriod p = workPeriods.floor(new WorkPeriod(startTime, startTime));
+		if (p == null || !p.getStartTime().equals(startTime)) {
+			throw new IllegalArgumentException("No Work Period starts at " + startTime);
+		}
+		return p;
+	}
+
+	// Removes the task, which no longer holds up any task that was to follow it
+	public Calendar removeTask(long taskId) {
+		Task removed = tasks.get(getTaskPriority(taskId));
+		tasks = tasks.remove(getTaskPriority(taskId));
+		taskPrioritiesById = taskPrioritiesById.remove(taskId);
+		for (Map.Entry<Long, Task> e : tasks) {
+			if (e.getValue().getPredecessors().contains(removed)) {
+				tasks = tasks.put(e.getKey(), e.getValue().withoutPredecessor(removed));
+			}
+		}
+		changed();
+		return this;
+	}
+
+	// Replaces the task with taskId by one of a new duration, keeping its priority and predecessors
+	public Calendar updateTask(long taskId, Duration newDuration) {
+		return replaceTask(taskId, t -> t.withDuration(newDuration));
+	}
+
+	// Declares that the task with taskId must not start until the given tasks have finished; see Task.after
+	public Calendar addTaskPredecessors(long taskId, Task... predecessors) {
+		return replaceTask(taskId, t -> t.after(predecessors));
+	}
+
+	// Declares that the task with taskId must not start before the given time; see Task.notBefore
+	public Calendar setTaskNotBefore(long taskId, LocalDateTime earliestStart) {
+		return replaceTask(taskId, t -> t.notBefore(earliestStart));
+	}
+
+	// Declares that the task with taskId must run unsplit between the given times of a day; see Task.between
+	public Calendar setTaskWindow(long taskId, LocalTime start, LocalTime end) {
+		return replaceTask(taskId, t -> t.between(start, end));
+	}
+
+	private Calendar replaceTask(long taskId, UnaryOperator<Task> update) {
+		long priority = getTaskPriority(taskId);
+		tasks = tasks.put(priority, update.apply(tasks.get(priority)));
+		changed();
+		return this;
+	}
+
+	private long getTaskPriority(long taskId) {
+		Long priority = taskPrioritiesById.get(taskId);
+		if (priority == null) {
+			throw new IllegalArgumentException("No task with id " + taskId + " in calendar");
+		}
+		return priority;
+	}
+
+	public Calendar removeEvent(long eventId) {
+		events = events.without(getEvent(eventId));
+		eventsById = eventsById.remove(eventId);
+		changed();
+		return this;
+	}
+
+	// Moves the event with eventId to a new start time, keeping its duration
+	public Calendar moveEvent(long eventId, ZonedDateTime newStartTime) {
+		Event moved = getEvent(eventId).movedTo(newStartTime);
+		events = events.without(getEvent(eventId)).with(moved);
+		eventsById = eventsById.put(eventId, moved);
+		changed();
+		return this;
+	}
+
+	private Event getEvent(long eventId) {
+		Event e = eventsById.get(eventId);
+		if (e == null) {
+			throw new IllegalArgumentException("No event with id " + eventId + " in calendar");
+		}
+		return e;
+	}
 }
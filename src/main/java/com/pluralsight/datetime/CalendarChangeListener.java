@@ -0,0 +1,13 @@
+package com.pluralsight.datetime;
+
+/**
+ * Told of each change to the content of a {@link Calendar}, on the thread that made it, once it has been
+ * made. The mutating call doesn't return until every listener has, so a listener with real work to do
+ * should record the change and leave the work to another thread, as {@link BackgroundRescheduler} does.
+ *
+ * @see BackgroundRescheduler
+ */
+public interface CalendarChangeListener {
+
+	void calendarChanged(Calendar calendar);
+}
@@ -0,0 +1,278 @@
+package com.pluralsight.datetime;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Places tasks in schedulable periods when some of them have earliest-start or daily-window constraints,
+ * which the linear fill of {@link Calendar#createSchedule} can't honour. Tasks are taken in schedule order.
+ * Each starts no earlier than its constraint and the ends of its predecessors, in the first period with room
+ * from that point; a task without a window may be split over several periods, as in the linear fill, but a
+ * task with one must fit unsplit. Within a period, tasks run one after another from its start, so a task
+ * placed later may fill room that an earlier, constrained task passed over. A task whose constraint falls
+ * inside the free time of a period starts there instead; the period is split at that point, as a period in
+ * progress is split at now, and the time before it is left unused.
+ * <p>
+ * The free time left in each period is kept in a segment tree, so the first period from a given point with
+ * room for a task is found in O(log n) for n periods. For each distinct daily window, another tree holds how
+ * much of each period's free time a task could use while keeping to the window, so windowed tasks are placed
+ * in O(log n) too, however many periods have room only outside the window.
+ */
+final class ConstrainedPlacement {
+
+	private final List<WorkPeriod> periods;
+	private final long[] usedNanos;
+	private final List<List<TaskPart>> taskParts;
+	private final FreeTimeTree freeTime;
+	private final Map<List<LocalTime>, FreeTimeTree> windowTimes = new HashMap<>();
+	private final Map<Task, LocalDateTime> taskEnds = new HashMap<>();
+	private final Map<Integer, List<Gap>> gapsByPeriod = new HashMap<>();
+	private boolean successful = true;
+
+	// Time left unused in a period before the part at partIndex, which starts a new piece of the period
+	private static final class Gap {
+		final int partIndex;
+		final long nanos;
+
+		Gap(int partIndex, long nanos) {
+			this.partIndex = partIndex;
+			this.nanos = nanos;
+		}
+	}
+
+	private ConstrainedPlacement(List<WorkPeriod> periods) {
+		this.periods = periods;
+		int n = periods.size();
+		usedNanos = new long[n];
+		taskParts = new ArrayList<>(n);
+		long[] free = new long[n];
+		for (int i = 0; i < n; i++) {
+			WorkPeriod p = periods.get(i);
+			free[i] = Duration.between(p.getStartTime(), p.getEndTime()).toNanos();
+			taskParts.add(new ArrayList<>());
+		}
+		freeTime = new FreeTimeTree(free);
+	}
+
+	/**
+	 * Places the tasks, given whole and in schedule order, in the periods, which must be in time order and
+	 * start no earlier than now. A task that can't be placed, and any task depending on it, is left out.
+	 */
+	static ConstrainedPlacement place(List<WorkPeriod> periods, List<TaskPart> tasks, LocalDateTime now) {
+		ConstrainedPlacement placement = new ConstrainedPlacement(periods);
+		for (TaskPart whole : tasks) {
+			placement.successful &= placement.place(whole.getOwner(), now);
+		}
+		return placement;
+	}
+
+	List<WorkPeriod> getScheduledPeriods() {
+		List<WorkPeriod> scheduled = new ArrayList<>(periods.size());
+		for (int i = 0; i < periods.size(); i++) {
+			List<TaskPart> parts = taskParts.get(i);
+			List<Gap> gaps = gapsByPeriod.get(i);
+			if (gaps != null) {
+				addPieces(scheduled, periods.get(i), parts, gaps);
+			} else {
+				scheduled.add(parts.isEmpty() ? periods.get(i) : periods.get(i).withTaskParts(parts));
+			}
+		}
+		return scheduled;
+	}
+
+	// The period split where each gap ends, each piece holding the parts placed in it
+	private static void addPieces(List<WorkPeriod> scheduled, WorkPeriod p, List<TaskPart> parts, List<Gap> gaps) {
+		LocalDateTime pieceStart = p.getStartTime();
+		LocalDateTime partsEnd = pieceStart;
+		int first = 0;
+		for (Gap gap : gaps) {
+			for (TaskPart tp : parts.subList(first, gap.partIndex)) partsEnd = partsEnd.plus(tp.getDuration());
+			LocalDateTime pieceEnd = partsEnd.plusNanos(gap.nanos);
+			scheduled.add(new WorkPeriod(pieceStart, pieceEnd, parts.subList(first, gap.partIndex)));
+			pieceStart = partsEnd = pieceEnd;
+			first = gap.partIndex;
+		}
+		scheduled.add(new WorkPeriod(pieceStart, p.getEndTime(), parts.subList(first, parts.size())));
+	}
+
+	boolean isSuccessful() {
+		return successful;
+	}
+
+	private boolean place(Task t, LocalDateTime now) {
+		LocalDateTime earliest = now;
+		if (t.getEarliestStart() != null && t.getEarliestStart().isAfter(earliest)) earliest = t.getEarliestStart();
+		for (Task predecessor : t.getPredecessors()) {
+			LocalDateTime end = taskEnds.get(predecessor);
+			if (end == null) return false;
+			if (end.isAfter(earliest)) earliest = end;
+		}
+		LocalDateTime end = t.getWindowStart() == null ? placeSplittable(t, earliest) : placeInWindow(t, earliest);
+		if (end == null) return false;
+		taskEnds.put(t, end);
+		return true;
+	}
+
+	// Returns the end of the last part, or null if the task doesn't fit
+	private LocalDateTime placeSplittable(Task t, LocalDateTime earliest) {
+		List<Integer> used = new ArrayList<>();
+		TaskPart part = TaskPart.wholeOf(t);
+		long remaining = t.getDuration().toNanos();
+		int i = firstEndingAfter(earliest);
+		while (remaining > 0) {
+			i = freeTime.firstWithAtLeast(i, 1);
+			if (i < 0) {
+				used.forEach(this::undoLast);
+				return null;
+			}
+			// only the period containing earliest can have its free time start before it
+			long gap = nanosUntil(startOfFreeTime(i), earliest);
+			if (gap >= freeTime.get(i)) {
+				i++;
+				continue;
+			}
+			long chunk = Math.min(remaining, freeTime.get(i) - gap);
+			TaskPart placed = chunk < remaining ? part.before(Duration.ofNanos(chunk)) : part;
+			if (chunk < remaining) part = part.after(Duration.ofNanos(chunk));
+			use(i, placed, gap, chunk);
+			used.add(i);
+			remaining -= chunk;
+		}
+		return startOfFreeTime(i);
+	}
+
+	private LocalDateTime placeInWindow(Task t, LocalDateTime earliest) {
+		FreeTimeTree windowTime = windowTimes.computeIfAbsent(List.of(t.getWindowStart(), t.getWindowEnd()), this::windowTree);
+		long duration = t.getDuration().toNanos();
+		// only the period containing earliest can have its free time start before it, so the search moves on
+		// at most once
+		for (int i = firstEndingAfter(earliest); (i = windowTime.firstWithAtLeast(i, duration)) >= 0; i++) {
+			LocalDateTime start = startInWindow(i, t.getWindowStart());
+			if (start.isBefore(earliest)) start = earliest;
+			LocalDateTime end = start.plusNanos(duration);
+			if (!start.toLocalTime().isBefore(t.getWindowStart())
+					&& !end.isAfter(start.toLocalDate().atTime(t.getWindowEnd()))
+					&& !end.isAfter(periods.get(i).getEndTime())) {
+				use(i, TaskPart.wholeOf(t), nanosUntil(startOfFreeTime(i), start), duration);
+				return end;
+			}
+		}
+		return null;
+	}
+
+	private FreeTimeTree windowTree(List<LocalTime> window) {
+		long[] usable = new long[periods.size()];
+		for (int i = 0; i < usable.length; i++) usable[i] = usableInWindow(i, window);
+		return new FreeTimeTree(usable);
+	}
+
+	// How long a task starting at the first point in the free time of period i inside the window can run there
+	private long usableInWindow(int i, List<LocalTime> window) {
+		LocalDateTime start = startInWindow(i, window.get(0));
+		LocalDateTime windowEnd = start.toLocalDate().atTime(window.get(1));
+		LocalDateTime end = periods.get(i).getEndTime().isBefore(windowEnd) ? periods.get(i).getEndTime() : windowEnd;
+		return end.isAfter(start) ? Duration.between(start, end).toNanos() : 0;
+	}
+
+	private LocalDateTime startOfFreeTime(int i) {
+		return periods.get(i).getStartTime().plusNanos(usedNanos[i]);
+	}
+
+	// The start of the free time of period i, or the window's start that day if that is later
+	private LocalDateTime startInWindow(int i, LocalTime windowStart) {
+		LocalDateTime start = startOfFreeTime(i);
+		return start.toLocalTime().isBefore(windowStart) ? start.toLocalDate().atTime(windowStart) : start;
+	}
+
+	private static long nanosUntil(LocalDateTime from, LocalDateTime to) {
+		return to.isAfter(from) ? Duration.between(from, to).toNanos() : 0;
+	}
+
+	// Places the part in period i, after leaving gapNanos of its free time unused
+	private void use(int i, TaskPart part, long gapNanos, long nanos) {
+		List<TaskPart> parts = taskParts.get(i);
+		if (gapNanos > 0) gapsByPeriod.computeIfAbsent(i, k -> new ArrayList<>()).add(new Gap(parts.size(), gapNanos));
+		parts.add(part);
+		usedNanos[i] += gapNanos + nanos;
+		freeTime.set(i, freeTime.get(i) - gapNanos - nanos);
+		updateWindowTimes(i);
+	}
+
+	// Takes back the part most recently placed in period i, with any gap left before it
+	private void undoLast(int i) {
+		List<TaskPart> parts = taskParts.get(i);
+		long nanos = parts.remove(parts.size() - 1).getDuration().toNanos();
+		List<Gap> gaps = gapsByPeriod.get(i);
+		if (gaps != null && gaps.get(gaps.size() - 1).partIndex == parts.size()) {
+			nanos += gaps.remove(gaps.size() - 1).nanos;
+			if (gaps.isEmpty()) gapsByPeriod.remove(i);
+		}
+		usedNanos[i] -= nanos;
+		freeTime.set(i, freeTime.get(i) + nanos);
+		updateWindowTimes(i);
+	}
+
+	private void updateWindowTimes(int i) {
+		for (Map.Entry<List<LocalTime>, FreeTimeTree> e : windowTimes.entrySet()) {
+			e.getValue().set(i, usableInWindow(i, e.getKey()));
+		}
+	}
+
+	// The index of the first period ending after t, found by binary search
+	private int firstEndingAfter(LocalDateTime t) {
+		int low = 0, high = periods.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (periods.get(mid).getEndTime().isAfter(t)) high = mid; else low = mid + 1;
+		}
+		return low;
+	}
+
+	// A max segment tree over the free time in each period, in nanoseconds
+	private static final class FreeTimeTree {
+		private final int leaves;
+		private final long[] max;
+
+		FreeTimeTree(long[] free) {
+			int size = 1;
+			while (size < free.length) size <<= 1;
+			leaves = size;
+			max = new long[2 * size];
+			System.arraycopy(free, 0, max, size, free.length);
+			for (int node = size - 1; node > 0; node--) {
+				max[node] = Math.max(max[2 * node], max[2 * node + 1]);
+			}
+		}
+
+		long get(int i) {
+			return max[leaves + i];
+		}
+
+		void set(int i, long value) {
+			int node = leaves + i;
+			max[node] = value;
+			for (node >>= 1; node > 0; node >>= 1) {
+				max[node] = Math.max(max[2 * node], max[2 * node + 1]);
+			}
+		}
+
+		// The first index from 'from' with at least 'amount' free, or -1 if there is none
+		int firstWithAtLeast(int from, long amount) {
+			if (from >= leaves) return -1;
+			return descend(1, 0, leaves, from, amount);
+		}
+
+		private int descend(int node, int low, int high, int from, long amount) {
+			if (high <= from || max[node] < amount) return -1;
+			if (high - low == 1) return low;
+			int mid = (low + high) >>> 1;
+			int left = descend(2 * node, low, mid, from, amount);
+			return left >= 0 ? left : descend(2 * node + 1, mid, high, from, amount);
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package com.pluralsight.datetime;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * The part of a {@link Schedule} falling on one day in some zone: the work periods and events, split at
+ * midnight, that start on that day, with times local to that zone, and the task parts scheduled in those
+ * periods.
+ */
+public class DayView {
+
+	private final LocalDate date;
+	private final List<WorkPeriod> workPeriods = new ArrayList<>();
+	private final List<Event> events = new ArrayList<>();
+	private final ZoneId zone;
+	private final Map<Task, Integer> taskPartCounts;
+
+	DayView(LocalDate date, ZoneId zone, Map<Task, Integer> taskPartCounts) {
+		this.date = date;
+		this.zone = zone;
+		this.taskPartCounts = taskPartCounts;
+	}
+
+	void addWorkPeriod(WorkPeriod p) {
+		workPeriods.add(p);
+	}
+
+	void addEvent(Event e) {
+		events.add(e);
+	}
+
+	public LocalDate getDate() {
+		return date;
+	}
+
+	public List<WorkPeriod> getWorkPeriods() {
+		return Collections.unmodifiableList(workPeriods);
+	}
+
+	public List<TaskPart> getTaskParts() {
+		List<TaskPart> taskParts = new ArrayList<>();
+		for (WorkPeriod p : workPeriods) {
+			taskParts.addAll(p.getTaskParts());
+		}
+		return taskParts;
+	}
+
+	public List<Event> getEvents() {
+		return Collections.unmodifiableList(events);
+	}
+
+	public boolean isEmpty() {
+		return workPeriods.isEmpty() && events.isEmpty();
+	}
+
+	// The date, then the day's periods and events in order of local start time; periods come first on a tie
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("\n").append(date);
+		List<Event> sortedEvents = new ArrayList<>(events);
+		// local start order differs from instant order only in a DST overlap
+		sortedEvents.sort(Comparator.comparing(ev -> ev.getLocalStartDateTime(zone)));
+		int e = 0;
+		for (WorkPeriod p : workPeriods) {
+			for (; e < sortedEvents.size() && sortedEvents.get(e).getLocalStartDateTime(zone).isBefore(p.getStartTime()); e++) {
+				sb.append(sortedEvents.get(e).toString(zone));
+			}
+			sb.append(p.toString(taskPartCounts));
+		}
+		for (; e < sortedEvents.size(); e++) {
+			sb.append(sortedEvents.get(e).toString(zone));
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,18 @@
+package com.pluralsight.datetime;
+
+/**
+ * Receives the boundaries of the schedules armed in a {@link ScheduleDispatcher} as they are reached. The key
+ * identifies the schedule, as given to {@link ScheduleDispatcher#dispatch}. Listeners are called on the
+ * thread running {@link ScheduleDispatcher#advance}, one boundary after another, so time spent in one
+ * callback delays every boundary due after it, for all keys.
+ */
+public interface DispatchListener<K> {
+
+	default void periodStarted(K key, WorkPeriod period) { }
+
+	default void periodEnded(K key, WorkPeriod period) { }
+
+	default void taskPartStarted(K key, TaskPart part) { }
+
+	default void taskPartEnded(K key, TaskPart part) { }
+}
@@ -1,77 +1,122 @@
 package com.pluralsight.datetime;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
-import java.util.Optional;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static java.time.temporal.ChronoUnit.DAYS;
 
+/**
+ * An immutable event. Each event has an id, unique within the running application, that identifies it
+ * to {@link Calendar#removeEvent} and {@link Calendar#moveEvent}; a moved event keeps its id.
+ */
 public class Event implements Comparable<Event> {
 
-	private ZonedDateTime startTime;
-	private ZonedDateTime endTime;
-	private String description;
+	private static final AtomicLong NEXT_ID = new AtomicLong(1);
+
+	private final long id;
+	private final ZonedDateTime startTime;
+	private final ZonedDateTime endTime;
+	private final String description;
+	private final Instant startInstant;    // cached for conversion to other zones
+	private final Instant endInstant;
 
 	private Event(ZonedDateTime startTime, ZonedDateTime endTime, String description) {
+		this(NEXT_ID.getAndIncrement(), startTime, endTime, description);
+	}
+
+	private Event(long id, ZonedDateTime startTime, ZonedDateTime endTime, String description) {
 		if (Duration.ofDays(1).minus(Duration.between(startTime, endTime)).isNegative()) {
 			// display code doesn't cover this unlikely case
 			throw new IllegalArgumentException("Events may not be more than 24 hours long");
 		}
+		this.id = id;
 		this.startTime = startTime;
 		this.endTime = endTime;
 		this.description = description;
+		this.startInstant = startTime.toInstant();
+		this.endInstant = endTime.toInstant();
 	}
 
 	public Event(ZonedDateTime startTime, Duration duration, String description) {
 		this(startTime, startTime.plus(duration), description);
 	}
 
-	// Convenience method to assist displaying a schedule by the day
-	public Optional<Event> split(ZoneId zone) {
+	// Convenience method to assist displaying a schedule by the day; returns this event, or its parts
+	// before and after the first midnight it spans in the given zone
+	public List<Event> split(ZoneId zone) {
 		LocalDateTime midnight = getLocalStartDateTime(zone).plusDays(1).truncatedTo(DAYS);
 		return split(midnight.atZone(zone));
 	}
 
-	private Optional<Event> split(ZonedDateTime splitTime) {
+	private List<Event> split(ZonedDateTime splitTime) {
 		if (!splitTime.isAfter(startTime) || !splitTime.isBefore(endTime)) {
-			return Optional.empty();
+			return List.of(this);
 		}
-		endTime = splitTime;
-		Event e1 = new Event(splitTime, Duration.between(startTime, splitTime), description);
-		return Optional.of(e1);
+		return List.of(new Event(id, startTime, splitTime, description), new Event(id, splitTime, endTime, description));
 	}
 
 	public static Event of(ZonedDateTime startTime, ZonedDateTime endTime, String description) {
 		return new Event(startTime, endTime, description);
 	}
 
+	// Reserves count consecutive ids, returning the first, for events created later by withId
+	static long reserveIds(long count) {
+		return NEXT_ID.getAndAdd(count);
+	}
+
+	static Event withId(long id, ZonedDateTime startTime, ZonedDateTime endTime, String description) {
+		return new Event(id, startTime, endTime, description);
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	Instant getStartInstant() {
+		return startInstant;
+	}
+
+	Instant getEndInstant() {
+		return endInstant;
+	}
+
+	String getDescription() {
+		return description;
+	}
+
+	// This event at a new start time, with the same id and duration
+	Event movedTo(ZonedDateTime newStartTime) {
+		return new Event(id, newStartTime, newStartTime.plus(Duration.between(startTime, endTime)), description);
+	}
+
+	// Orders by start time; the id breaks ties, so that events starting together can share a calendar
 	@Override
 	public int compareTo(Event e) {
-		return startTime.toInstant().compareTo(e.startTime.toInstant());
+		int c = startInstant.compareTo(e.startInstant);
+		return c != 0 ? c : Long.compare(id, e.id);
 	}
 
 	public String toString(ZoneId zone) {
 		Duration dur = Duration.between(startTime, endTime);
 		DateTimeFormatter timeFormatter = DateTimeFormatter.ofLocalizedTime(FormatStyle.SHORT);
-		return("\n\t" + description + ": " + timeFormatter.format(startTime.withZoneSameInstant(zone)) + ", duration = " + Utils.formatDuration(dur));
+		return("\n\t" + description + ": " + timeFormatter.format(getLocalStartDateTime(zone)) +
+				", duration = " + Utils.formatDuration(dur));
 	}
 
 	// methods in Event
 
 	public LocalDateTime getLocalStartDateTime(ZoneId zone) {
-		return startTime.withZoneSameInstant(zone).toLocalDateTime();
+		return LocalDateTime.ofInstant(startInstant, zone);
 	}
 
 	public LocalDateTime getLocalEndDateTime(ZoneId zone) {
-		return endTime.withZoneSameInstant(zone).toLocalDateTime();
-
-	}
-
-	static Event copy(Event e) {
-		return Event.of(e.startTime, e.endTime, e.description);
+		return LocalDateTime.ofInstant(endInstant, zone);
 	}
 }
@@ -0,0 +1,19 @@
+package com.pluralsight.datetime;
+
+import java.util.Collection;
+
+/**
+ * A read-only layer of events, such as company holidays or a team's meetings, that any number of calendars
+ * can share through {@link Calendar#addEventSource} without copying. A source must iterate its events in
+ * their natural order, and must not change while a calendar refers to it; to change a layer, replace it
+ * with a new source.
+ */
+public interface EventSource extends Iterable<Event> {
+
+	int size();
+
+	// A source holding the given events, sorted once here
+	static EventSource of(Collection<Event> events) {
+		return new SortedEventSource(events);
+	}
+}
@@ -0,0 +1,107 @@
+package com.pluralsight.datetime;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Publishes the elements of an iterator, created afresh for each subscriber, pulling only as many as have
+ * been requested. Elements are delivered on the executor, one subscriber signal at a time; after
+ * cancellation, the iterator is not advanced again.
+ */
+final class IteratorPublisher<T> implements Flow.Publisher<T> {
+
+	private final Supplier<Iterator<T>> source;
+	private final Executor executor;
+
+	IteratorPublisher(Supplier<Iterator<T>> source, Executor executor) {
+		this.source = source;
+		this.executor = executor;
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super T> subscriber) {
+		Objects.requireNonNull(subscriber);
+		subscriber.onSubscribe(new IteratorSubscription<>(subscriber, source, executor));
+	}
+
+	private static final class IteratorSubscription<T> implements Flow.Subscription, Runnable {
+
+		private final Flow.Subscriber<? super T> subscriber;
+		private final Supplier<Iterator<T>> source;
+		private final Executor executor;
+		private final AtomicLong demand = new AtomicLong();
+		private final AtomicInteger pendingDrains = new AtomicInteger();
+		private volatile boolean cancelled;
+		private volatile Throwable invalidRequest;
+		private Iterator<T> iterator;    // accessed only by the draining thread
+
+		IteratorSubscription(Flow.Subscriber<? super T> subscriber, Supplier<Iterator<T>> source, Executor executor) {
+			this.subscriber = subscriber;
+			this.source = source;
+			this.executor = executor;
+		}
+
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				invalidRequest = new IllegalArgumentException("Non-positive request: " + n);
+			} else {
+				demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+			}
+			drain();
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+		}
+
+		private void drain() {
+			if (pendingDrains.getAndIncrement() == 0) {
+				executor.execute(this);
+			}
+		}
+
+		// Only one thread runs this at a time; requests arriving meanwhile make it loop rather than re-enter
+		@Override
+		public void run() {
+			int missed = 1;
+			do {
+				if (cancelled) return;
+				if (invalidRequest != null) {
+					terminate(invalidRequest);
+					return;
+				}
+				try {
+					if (iterator == null) iterator = source.get();
+					long requested = demand.get();
+					long emitted = 0;
+					while (emitted != requested && !cancelled && iterator.hasNext()) {
+						subscriber.onNext(iterator.next());
+						emitted++;
+					}
+					if (!cancelled && !iterator.hasNext()) {
+						cancelled = true;
+						subscriber.onComplete();
+						return;
+					}
+					if (requested != Long.MAX_VALUE) demand.addAndGet(-emitted);
+				} catch (Throwable t) {
+					terminate(t);
+					return;
+				}
+				missed = pendingDrains.addAndGet(-missed);
+			} while (missed != 0);
+		}
+
+		private void terminate(Throwable t) {
+			cancelled = true;
+			subscriber.onError(t);
+		}
+	}
+}
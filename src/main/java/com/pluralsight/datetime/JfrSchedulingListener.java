@@ -0,0 +1,65 @@
+package com.pluralsight.datetime;
+
+import jdk.jfr.*;
+
+/**
+ * A {@link SchedulingListener} that records each schedule build as a JDK Flight Recorder event,
+ * {@code com.pluralsight.ScheduleBuild}, for local profiling, e.g. with
+ * {@code -XX:StartFlightRecording=filename=schedule.jfr} and JDK Mission Control.
+ * When no recording is running, the cost is a single check.
+ */
+public class JfrSchedulingListener implements SchedulingListener {
+
+	@Name("com.pluralsight.ScheduleBuild")
+	@Label("Schedule Build")
+	@Category("Task Scheduler")
+	@Description("Timings and counts for one call of Calendar.createSchedule")
+	static class ScheduleBuildEvent extends jdk.jfr.Event {
+
+		@Label("Merge Duration")
+		@Timespan(Timespan.NANOSECONDS)
+		long mergeDuration;
+
+		@Label("Fill Duration")
+		@Timespan(Timespan.NANOSECONDS)
+		long fillDuration;
+
+		@Label("Total Duration")
+		@Timespan(Timespan.NANOSECONDS)
+		long totalDuration;
+
+		@Label("Work Periods")
+		int periods;
+
+		@Label("Events")
+		int events;
+
+		@Label("Task Parts")
+		int taskParts;
+
+		@Label("Period Splits")
+		int periodSplits;
+
+		@Label("Task Part Splits")
+		int taskPartSplits;
+
+		@Label("Successful")
+		boolean successful;
+	}
+
+	@Override
+	public void scheduleBuilt(SchedulingStats stats) {
+		ScheduleBuildEvent event = new ScheduleBuildEvent();
+		if (!event.shouldCommit()) return;
+		event.mergeDuration = stats.getMergeDuration().toNanos();
+		event.fillDuration = stats.getFillDuration().toNanos();
+		event.totalDuration = stats.getTotalDuration().toNanos();
+		event.periods = stats.getPeriodCount();
+		event.events = stats.getEventCount();
+		event.taskParts = stats.getTaskPartCount();
+		event.periodSplits = stats.getPeriodSplitCount();
+		event.taskPartSplits = stats.getTaskPartSplitCount();
+		event.successful = stats.isSuccessful();
+		event.commit();
+	}
+}
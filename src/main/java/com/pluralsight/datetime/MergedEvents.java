@@ -0,0 +1,76 @@
+package com.pluralsight.datetime;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * A read-only view of several sorted layers of events as one, iterated in event order by a k-way merge:
+ * a heap holds the next event from each layer, so each step costs O(log k) for k layers and nothing is
+ * copied. The view reflects the layers' contents, so they should be immutable.
+ */
+final class MergedEvents extends AbstractCollection<Event> {
+
+	private final List<? extends Iterable<Event>> layers;
+	private final int size;
+
+	MergedEvents(List<? extends Iterable<Event>> layers, int size) {
+		this.layers = layers;
+		this.size = size;
+	}
+
+	@Override
+	public Iterator<Event> iterator() {
+		if (layers.size() == 1) return layers.get(0).iterator();
+		return new MergingIterator(layers);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	// The head event of one layer, with the rest of that layer behind it
+	private static final class Head implements Comparable<Head> {
+		final Event event;
+		final Iterator<Event> rest;
+
+		Head(Event event, Iterator<Event> rest) {
+			this.event = event;
+			this.rest = rest;
+		}
+
+		@Override
+		public int compareTo(Head other) {
+			return event.compareTo(other.event);
+		}
+	}
+
+	private static final class MergingIterator implements Iterator<Event> {
+		private final PriorityQueue<Head> heads;
+
+		MergingIterator(Collection<? extends Iterable<Event>> layers) {
+			heads = new PriorityQueue<>(Math.max(1, layers.size()));
+			for (Iterable<Event> layer : layers) {
+				Iterator<Event> it = layer.iterator();
+				if (it.hasNext()) heads.add(new Head(it.next(), it));
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return !heads.isEmpty();
+		}
+
+		@Override
+		public Event next() {
+			Head head = heads.poll();
+			if (head == null) throw new NoSuchElementException();
+			if (head.rest.hasNext()) heads.add(new Head(head.rest.next(), head.rest));
+			return head.event;
+		}
+	}
+}
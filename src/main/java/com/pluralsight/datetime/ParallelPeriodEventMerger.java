@@ -0,0 +1,156 @@
+package com.pluralsight.datetime;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Produces the same periods as draining a {@link PeriodEventMerger}, but for large inputs cuts the timeline
+ * into partitions and merges them in parallel. A cut is made only at the start of a work period that no
+ * event crosses: work periods don't overlap, and the events starting before the cut are found by binary
+ * search and must all end by it, which a prefix maximum of their end times shows in O(1). Partitions are
+ * then independent, so merging each with fork/join and concatenating the results in order gives exactly
+ * the sequential output. Events whose local start times aren't in order, as can happen around a change
+ * of UTC offset, are merged sequentially.
+ */
+final class ParallelPeriodEventMerger {
+
+	// Inputs smaller than this are merged sequentially; partitions hold at least half as many work periods
+	static final int PARALLEL_THRESHOLD = 1 << 15;
+
+	private final Collection<WorkPeriod> periods;
+	private final Collection<Event> events;
+	private final ZoneId zone;
+	private int splitCount;
+
+	ParallelPeriodEventMerger(Collection<WorkPeriod> periods, Collection<Event> events, ZoneId zone) {
+		this.periods = periods;
+		this.events = events;
+		this.zone = zone;
+	}
+
+	List<WorkPeriod> merge() {
+		return merge(ForkJoinPool.commonPool());
+	}
+
+	List<WorkPeriod> merge(ForkJoinPool pool) {
+		splitCount = 0;
+		if (periods.size() + events.size() < PARALLEL_THRESHOLD || pool.getParallelism() == 1) {
+			return mergeSequentially(periods, events);
+		}
+		WorkPeriod[] periodArray = periods.toArray(new WorkPeriod[0]);
+		Event[] eventArray = events.toArray(new Event[0]);
+		LocalDateTime[] eventStarts = new LocalDateTime[eventArray.length];
+		LocalDateTime[] latestEventEnds = new LocalDateTime[eventArray.length];
+		Arrays.parallelSetAll(eventStarts, i -> eventArray[i].getLocalStartDateTime(zone));
+		Arrays.parallelSetAll(latestEventEnds, i -> eventArray[i].getLocalEndDateTime(zone));
+		for (int i = 1; i < eventStarts.length; i++) {
+			if (eventStarts[i].isBefore(eventStarts[i - 1])) {
+				return mergeSequentially(periods, events);
+			}
+		}
+		Arrays.parallelPrefix(latestEventEnds, (a, b) -> a.isAfter(b) ? a : b);
+
+		List<int[]> cuts = findCuts(periodArray, eventStarts, latestEventEnds, pool.getParallelism() * 4);
+		// each task sets only its own element, so the list needn't be synchronized
+		List<List<WorkPeriod>> results = new ArrayList<>(Collections.nCopies(cuts.size() - 1, null));
+		int[] splitCounts = new int[results.size()];
+		pool.invoke(new MergeTask(periodArray, eventArray, cuts, results, splitCounts, 0, results.size()));
+
+		int size = 0;
+		for (List<WorkPeriod> result : results) size += result.size();
+		List<WorkPeriod> merged = new ArrayList<>(size);
+		for (int i = 0; i < results.size(); i++) {
+			merged.addAll(results.get(i));
+			splitCount += splitCounts[i];
+		}
+		return merged;
+	}
+
+	// The number of splits made at event boundaries by the last merge
+	int getSplitCount() {
+		return splitCount;
+	}
+
+	private List<WorkPeriod> mergeSequentially(Collection<WorkPeriod> periods, Collection<Event> events) {
+		PeriodEventMerger merger = new PeriodEventMerger(periods.iterator(), events.iterator(), zone);
+		List<WorkPeriod> merged = new ArrayList<>();
+		merger.forEachRemaining(merged::add);
+		splitCount = merger.getSplitCount();
+		return merged;
+	}
+
+	// Pairs of (first period, first event) at which each partition starts, ending with the lengths of both
+	// arrays. Partitions are sized by their work periods; from each step, the next valid cut is taken.
+	private static List<int[]> findCuts(WorkPeriod[] periods, LocalDateTime[] eventStarts, LocalDateTime[] latestEventEnds,
+										int partitionCount) {
+		List<int[]> cuts = new ArrayList<>();
+		cuts.add(new int[] { 0, 0 });
+		int step = Math.max(PARALLEL_THRESHOLD / 2, periods.length / partitionCount);
+		for (int p = step; p < periods.length - step / 2; p++) {
+			LocalDateTime cut = periods[p].getStartTime();
+			int e = firstStartingAtOrAfter(eventStarts, cut);
+			if (e > 0 && latestEventEnds[e - 1].isAfter(cut)) continue;
+			cuts.add(new int[] { p, e });
+			p += step - 1;
+		}
+		cuts.add(new int[] { periods.length, eventStarts.length });
+		return cuts;
+	}
+
+	private static int firstStartingAtOrAfter(LocalDateTime[] starts, LocalDateTime t) {
+		int low = 0, high = starts.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (starts[mid].isBefore(t)) low = mid + 1; else high = mid;
+		}
+		return low;
+	}
+
+	private final class MergeTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final WorkPeriod[] periods;
+		private final Event[] events;
+		private final List<int[]> cuts;
+		private final List<List<WorkPeriod>> results;
+		private final int[] splitCounts;
+		private final int from;
+		private final int to;
+
+		MergeTask(WorkPeriod[] periods, Event[] events, List<int[]> cuts, List<List<WorkPeriod>> results, int[] splitCounts,
+				  int from, int to) {
+			this.periods = periods;
+			this.events = events;
+			this.cuts = cuts;
+			this.results = results;
+			this.splitCounts = splitCounts;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > 1) {
+				int mid = (from + to) >>> 1;
+				invokeAll(new MergeTask(periods, events, cuts, results, splitCounts, from, mid),
+						new MergeTask(periods, events, cuts, results, splitCounts, mid, to));
+				return;
+			}
+			int[] start = cuts.get(from), end = cuts.get(from + 1);
+			PeriodEventMerger merger = new PeriodEventMerger(
+					Arrays.asList(periods).subList(start[0], end[0]).iterator(),
+					Arrays.asList(events).subList(start[1], end[1]).iterator(), zone);
+			List<WorkPeriod> merged = new ArrayList<>();
+			merger.forEachRemaining(merged::add);
+			results.set(from, merged);
+			splitCounts[from] = merger.getSplitCount();
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package com.pluralsight.datetime;
+
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Overwrites work periods by events: yields, in start-time order, the parts of the work periods that are
+ * not covered by any event. Both inputs must be ordered by start time. Work is done one output period
+ * at a time, as the iterator is advanced.
+ */
+final class PeriodEventMerger implements Iterator<WorkPeriod> {
+
+	private final Iterator<WorkPeriod> periods;
+	private final Iterator<Event> events;
+	private final ZoneId zone;
+	private WorkPeriod period;
+	private Event event;
+	private WorkPeriod next;
+	private int splitCount;
+
+	PeriodEventMerger(Iterator<WorkPeriod> periods, Iterator<Event> events, ZoneId zone) {
+		this.periods = periods;
+		this.events = events;
+		this.zone = zone;
+		period = periods.hasNext() ? periods.next() : null;
+		event = events.hasNext() ? events.next() : null;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (next == null) next = computeNext();
+		return next != null;
+	}
+
+	@Override
+	public WorkPeriod next() {
+		if (!hasNext()) throw new NoSuchElementException();
+		WorkPeriod result = next;
+		next = null;
+		return result;
+	}
+
+	// The number of splits made at event boundaries so far
+	int getSplitCount() {
+		return splitCount;
+	}
+
+	private WorkPeriod computeNext() {
+		while (period != null && event != null) {
+			if (! period.getEndTime().isAfter(event.getLocalStartDateTime(zone))) {
+				// non-overlapping, period first
+				WorkPeriod result = period;
+				period = periods.hasNext() ? periods.next() : null;
+				return result;
+			} else if (! period.getStartTime().isBefore(event.getLocalEndDateTime(zone))) {
+				// non-overlapping, event first
+				event = events.hasNext() ? events.next() : null;
+			} else if (period.getStartTime().isBefore(event.getLocalStartDateTime(zone))) {
+				// overlapping, period starts first
+				WorkPeriod.Split split = period.split(event.getLocalStartDateTime(zone)).get();
+				splitCount++;
+				period = split.getAfter();
+				return split.getBefore();
+			} else if (period.getEndTime().isAfter(event.getLocalEndDateTime(zone))) {
+				// overlapping, event starts first or at same time
+				period = period.split(event.getLocalEndDateTime(zone)).get().getAfter();
+				splitCount++;
+				event = events.hasNext() ? events.next() : null;
+			} else {
+				// event encloses period
+				period = periods.hasNext() ? periods.next() : null;
+			}
+		}
+		// no more events, so the remaining periods pass through unchanged
+		WorkPeriod result = period;
+		period = result != null && periods.hasNext() ? periods.next() : null;
+		return result;
+	}
+}
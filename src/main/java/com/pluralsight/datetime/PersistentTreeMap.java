@@ -0,0 +1,290 @@
+package com.pluralsight.datetime;
+
+import java.util.*;
+
+/**
+ * An immutable sorted map backed by an AVL tree. Updates copy only the path from the root to the
+ * changed node (O(log n)) and share every other node with the original, so old versions remain valid
+ * and cheap to keep.
+ */
+final class PersistentTreeMap<K, V> implements Iterable<Map.Entry<K, V>> {
+
+	private static final class Node<K, V> implements Map.Entry<K, V> {
+		final K key;
+		final V value;
+		final Node<K, V> left;
+		final Node<K, V> right;
+		final int height;
+		final int size;
+
+		Node(K key, V value, Node<K, V> left, Node<K, V> right) {
+			this.key = key;
+			this.value = value;
+			this.left = left;
+			this.right = right;
+			this.height = Math.max(height(left), height(right)) + 1;
+			this.size = size(left) + size(right) + 1;
+		}
+
+		@Override
+		public K getKey() {
+			return key;
+		}
+
+		@Override
+		public V getValue() {
+			return value;
+		}
+
+		@Override
+		public V setValue(V value) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public String toString() {
+			return key + "=" + value;
+		}
+	}
+
+	private final Comparator<? super K> comparator;
+	private final Node<K, V> root;
+
+	private PersistentTreeMap(Comparator<? super K> comparator, Node<K, V> root) {
+		this.comparator = comparator;
+		this.root = root;
+	}
+
+	static <K extends Comparable<? super K>, V> PersistentTreeMap<K, V> empty() {
+		return new PersistentTreeMap<>(Comparator.naturalOrder(), null);
+	}
+
+	static <K, V> PersistentTreeMap<K, V> empty(Comparator<? super K> comparator) {
+		return new PersistentTreeMap<>(comparator, null);
+	}
+
+	int size() {
+		return size(root);
+	}
+
+	boolean isEmpty() {
+		return root == null;
+	}
+
+	V get(K key) {
+		Node<K, V> n = find(key);
+		return n == null ? null : n.value;
+	}
+
+	boolean containsKey(K key) {
+		return find(key) != null;
+	}
+
+	PersistentTreeMap<K, V> put(K key, V value) {
+		return new PersistentTreeMap<>(comparator, put(root, key, value));
+	}
+
+	PersistentTreeMap<K, V> remove(K key) {
+		if (find(key) == null) return this;
+		return new PersistentTreeMap<>(comparator, remove(root, key));
+	}
+
+	/**
+	 * Puts all the entries, a later entry replacing an earlier one with an equal key. When they are many
+	 * compared with the size of this map, the result is built as a balanced tree from the merged, sorted
+	 * entries of both in O(n + k log k), instead of by k separate puts.
+	 */
+	PersistentTreeMap<K, V> putAll(Collection<? extends Map.Entry<K, V>> entries) {
+		if (entries.size() < size() / 8 + 16) {
+			PersistentTreeMap<K, V> result = this;
+			for (Map.Entry<K, V> e : entries) result = result.put(e.getKey(), e.getValue());
+			return result;
+		}
+		List<Map.Entry<K, V>> added = new ArrayList<>(entries);
+		added.sort(Map.Entry.comparingByKey(comparator));    // stable, so later duplicates stay later
+		List<Map.Entry<K, V>> merged = new ArrayList<>(size() + added.size());
+		Iterator<Map.Entry<K, V>> existing = iterator();
+		Map.Entry<K, V> next = existing.hasNext() ? existing.next() : null;
+		for (int i = 0; i < added.size(); i++) {
+			Map.Entry<K, V> e = added.get(i);
+			if (i + 1 < added.size() && comparator.compare(e.getKey(), added.get(i + 1).getKey()) == 0) continue;
+			int c = -1;
+			while (next != null && (c = comparator.compare(next.getKey(), e.getKey())) < 0) {
+				merged.add(next);
+				next = existing.hasNext() ? existing.next() : null;
+			}
+			if (next != null && c == 0) next = existing.hasNext() ? existing.next() : null;
+			merged.add(e);
+		}
+		while (next != null) {
+			merged.add(next);
+			next = existing.hasNext() ? existing.next() : null;
+		}
+		return new PersistentTreeMap<>(comparator, build(merged, 0, merged.size()));
+	}
+
+	// A perfectly balanced tree of the sorted entries from index low to high, exclusive
+	private static <K, V> Node<K, V> build(List<Map.Entry<K, V>> sorted, int low, int high) {
+		if (low >= high) return null;
+		int mid = (low + high) >>> 1;
+		Map.Entry<K, V> e = sorted.get(mid);
+		return new Node<>(e.getKey(), e.getValue(), build(sorted, low, mid), build(sorted, mid + 1, high));
+	}
+
+	Map.Entry<K, V> firstEntry() {
+		return root == null ? null : min(root);
+	}
+
+	Map.Entry<K, V> lastEntry() {
+		Node<K, V> n = root;
+		while (n != null && n.right != null) n = n.right;
+		return n;
+	}
+
+	Map.Entry<K, V> floorEntry(K key) {
+		return lowerOrFloor(key, true);
+	}
+
+	Map.Entry<K, V> lowerEntry(K key) {
+		return lowerOrFloor(key, false);
+	}
+
+	Map.Entry<K, V> ceilingEntry(K key) {
+		return higherOrCeiling(key, true);
+	}
+
+	Map.Entry<K, V> higherEntry(K key) {
+		return higherOrCeiling(key, false);
+	}
+
+	@Override
+	public Iterator<Map.Entry<K, V>> iterator() {
+		return new EntryIterator<>(root);
+	}
+
+	private Node<K, V> find(K key) {
+		Node<K, V> n = root;
+		while (n != null) {
+			int c = comparator.compare(key, n.key);
+			if (c == 0) return n;
+			n = c < 0 ? n.left : n.right;
+		}
+		return null;
+	}
+
+	private Map.Entry<K, V> lowerOrFloor(K key, boolean inclusive) {
+		Node<K, V> n = root, best = null;
+		while (n != null) {
+			int c = comparator.compare(key, n.key);
+			if (c > 0 || (inclusive && c == 0)) {
+				best = n;
+				if (c == 0) break;
+				n = n.right;
+			} else {
+				n = n.left;
+			}
+		}
+		return best;
+	}
+
+	private Map.Entry<K, V> higherOrCeiling(K key, boolean inclusive) {
+		Node<K, V> n = root, best = null;
+		while (n != null) {
+			int c = comparator.compare(key, n.key);
+			if (c < 0 || (inclusive && c == 0)) {
+				best = n;
+				if (c == 0) break;
+				n = n.left;
+			} else {
+				n = n.right;
+			}
+		}
+		return best;
+	}
+
+	private Node<K, V> put(Node<K, V> n, K key, V value) {
+		if (n == null) return new Node<>(key, value, null, null);
+		int c = comparator.compare(key, n.key);
+		if (c == 0) return new Node<>(key, value, n.left, n.right);
+		return c < 0
+				? balance(n.key, n.value, put(n.left, key, value), n.right)
+				: balance(n.key, n.value, n.left, put(n.right, key, value));
+	}
+
+	private Node<K, V> remove(Node<K, V> n, K key) {
+		int c = comparator.compare(key, n.key);
+		if (c < 0) return balance(n.key, n.value, remove(n.left, key), n.right);
+		if (c > 0) return balance(n.key, n.value, n.left, remove(n.right, key));
+		if (n.left == null) return n.right;
+		if (n.right == null) return n.left;
+		Node<K, V> successor = min(n.right);
+		return balance(successor.key, successor.value, n.left, removeMin(n.right));
+	}
+
+	private static <K, V> Node<K, V> removeMin(Node<K, V> n) {
+		if (n.left == null) return n.right;
+		return balance(n.key, n.value, removeMin(n.left), n.right);
+	}
+
+	private static <K, V> Node<K, V> min(Node<K, V> n) {
+		while (n.left != null) n = n.left;
+		return n;
+	}
+
+	private static <K, V> Node<K, V> balance(K key, V value, Node<K, V> left, Node<K, V> right) {
+		int diff = height(left) - height(right);
+		if (diff > 1) {
+			if (height(left.left) < height(left.right)) {
+				left = rotateLeft(left.key, left.value, left.left, left.right);
+			}
+			return rotateRight(key, value, left, right);
+		} else if (diff < -1) {
+			if (height(right.right) < height(right.left)) {
+				right = rotateRight(right.key, right.value, right.left, right.right);
+			}
+			return rotateLeft(key, value, left, right);
+		}
+		return new Node<>(key, value, left, right);
+	}
+
+	private static <K, V> Node<K, V> rotateRight(K key, V value, Node<K, V> left, Node<K, V> right) {
+		return new Node<>(left.key, left.value, left.left, new Node<>(key, value, left.right, right));
+	}
+
+	private static <K, V> Node<K, V> rotateLeft(K key, V value, Node<K, V> left, Node<K, V> right) {
+		return new Node<>(right.key, right.value, new Node<>(key, value, left, right.left), right.right);
+	}
+
+	private static int height(Node<?, ?> n) {
+		return n == null ? 0 : n.height;
+	}
+
+	private static int size(Node<?, ?> n) {
+		return n == null ? 0 : n.size;
+	}
+
+	private static final class EntryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+		private final Deque<Node<K, V>> stack = new ArrayDeque<>();
+
+		EntryIterator(Node<K, V> root) {
+			pushLeft(root);
+		}
+
+		private void pushLeft(Node<K, V> n) {
+			for (; n != null; n = n.left) stack.push(n);
+		}
+
+		@Override
+		public boolean hasNext() {
+			return !stack.isEmpty();
+		}
+
+		@Override
+		public Map.Entry<K, V> next() {
+			if (stack.isEmpty()) throw new NoSuchElementException();
+			Node<K, V> n = stack.pop();
+			pushLeft(n.right);
+			return n;
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package com.pluralsight.datetime;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable sorted set sharing structure between versions; see {@link PersistentTreeMap}.
+ * The navigation methods return the stored element, as {@link java.util.TreeSet} does.
+ */
+final class PersistentTreeSet<E> extends AbstractSet<E> {
+
+	private final PersistentTreeMap<E, E> map;
+
+	private PersistentTreeSet(PersistentTreeMap<E, E> map) {
+		this.map = map;
+	}
+
+	static <E extends Comparable<? super E>> PersistentTreeSet<E> empty() {
+		return new PersistentTreeSet<>(PersistentTreeMap.<E, E>empty());
+	}
+
+	static <E> PersistentTreeSet<E> empty(Comparator<? super E> comparator) {
+		return new PersistentTreeSet<>(PersistentTreeMap.empty(comparator));
+	}
+
+	// Replaces any element comparing equal to e
+	PersistentTreeSet<E> with(E e) {
+		return new PersistentTreeSet<>(map.put(e, e));
+	}
+
+	// Adds all the elements; see PersistentTreeMap.putAll
+	PersistentTreeSet<E> withAll(Collection<? extends E> elements) {
+		List<Map.Entry<E, E>> entries = new ArrayList<>(elements.size());
+		for (E e : elements) entries.add(new AbstractMap.SimpleImmutableEntry<>(e, e));
+		return new PersistentTreeSet<>(map.putAll(entries));
+	}
+
+	PersistentTreeSet<E> without(E e) {
+		PersistentTreeMap<E, E> newMap = map.remove(e);
+		return newMap == map ? this : new PersistentTreeSet<>(newMap);
+	}
+
+	E first() {
+		if (map.isEmpty()) throw new NoSuchElementException();
+		return map.firstEntry().getKey();
+	}
+
+	E last() {
+		if (map.isEmpty()) throw new NoSuchElementException();
+		return map.lastEntry().getKey();
+	}
+
+	E floor(E e) {
+		return keyOrNull(map.floorEntry(e));
+	}
+
+	E lower(E e) {
+		return keyOrNull(map.lowerEntry(e));
+	}
+
+	E ceiling(E e) {
+		return keyOrNull(map.ceilingEntry(e));
+	}
+
+	E higher(E e) {
+		return keyOrNull(map.higherEntry(e));
+	}
+
+	private static <E> E keyOrNull(Map.Entry<E, E> entry) {
+		return entry == null ? null : entry.getKey();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean contains(Object o) {
+		return map.containsKey((E) o);
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		Iterator<Map.Entry<E, E>> entries = map.iterator();
+		return new Iterator<E>() {
+			@Override
+			public boolean hasNext() {
+				return entries.hasNext();
+			}
+
+			@Override
+			public E next() {
+				return entries.next().getKey();
+			}
+		};
+	}
+
+	@Override
+	public int size() {
+		return map.size();
+	}
+}
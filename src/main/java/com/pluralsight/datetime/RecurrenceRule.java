@@ -0,0 +1,169 @@
+package com.pluralsight.datetime;
+
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A rule for repeating an event, as given by an iCalendar (RFC 5545) RRULE: daily or weekly, every interval
+ * days or weeks, optionally on given days of the week, until a count of occurrences or a last date-time is
+ * reached. Weeks start on the WKST day, Monday by default, which decides which weeks a rule of more than
+ * one week's interval skips. Other frequencies and BY rules are not supported. Occurrences keep the local
+ * time of the first in its zone, as RFC 5545 requires across changes of UTC offset.
+ */
+public final class RecurrenceRule {
+
+	public enum Frequency { DAILY, WEEKLY }
+
+	private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+	private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+	private final Frequency frequency;
+	private final int interval;
+	private final int count;            // 0 if not limited by count
+	private final Instant until;        // null if not limited by date
+	private final Set<DayOfWeek> days;  // for weekly rules; empty for the first occurrence's day
+	private final DayOfWeek weekStart;
+
+	private RecurrenceRule(Frequency frequency, int interval, int count, Instant until, Set<DayOfWeek> days,
+						   DayOfWeek weekStart) {
+		this.frequency = frequency;
+		this.interval = interval;
+		this.count = count;
+		this.until = until;
+		this.days = days;
+		this.weekStart = weekStart;
+	}
+
+	/**
+	 * Parses the value of an RRULE, such as {@code FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,WE;COUNT=10}. A floating
+	 * or date-only UNTIL is taken to be in the given zone, a date-only UNTIL including the whole of that day.
+	 *
+	 * @throws IllegalArgumentException if the rule is malformed or uses an unsupported part
+	 */
+	public static RecurrenceRule parse(String rule, ZoneId zone) {
+		Frequency frequency = null;
+		int interval = 1;
+		int count = 0;
+		Instant until = null;
+		Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+		DayOfWeek weekStart = DayOfWeek.MONDAY;
+		try {
+			for (String part : rule.split(";")) {
+				int equals = part.indexOf('=');
+				if (equals < 0) throw new IllegalArgumentException("Malformed recurrence rule part: " + part);
+				String name = part.substring(0, equals).toUpperCase();
+				String value = part.substring(equals + 1);
+				switch (name) {
+					case "FREQ": frequency = Frequency.valueOf(value.toUpperCase()); break;
+					case "INTERVAL": interval = Integer.parseInt(value); break;
+					case "COUNT": count = Integer.parseInt(value); break;
+					case "UNTIL": until = parseUntil(value, zone); break;
+					case "BYDAY":
+						for (String day : value.split(",")) days.add(dayOfWeek(day));
+						break;
+					case "WKST": weekStart = dayOfWeek(value); break;
+					default: throw new IllegalArgumentException("Unsupported recurrence rule part: " + name);
+				}
+			}
+		} catch (DateTimeParseException e) {
+			throw new IllegalArgumentException("Malformed recurrence rule: " + rule, e);
+		}
+		if (frequency == null) throw new IllegalArgumentException("Recurrence rule has no FREQ: " + rule);
+		if (interval < 1 || count < 0) throw new IllegalArgumentException("Malformed recurrence rule: " + rule);
+		if (frequency == Frequency.DAILY && !days.isEmpty()) {
+			throw new IllegalArgumentException("BYDAY is supported only for weekly rules: " + rule);
+		}
+		return new RecurrenceRule(frequency, interval, count, until, days, weekStart);
+	}
+
+	private static Instant parseUntil(String value, ZoneId zone) {
+		if (value.length() == 8) {
+			return LocalDate.parse(value, DATE).plusDays(1).atStartOfDay(zone).toInstant().minusNanos(1);
+		}
+		if (value.endsWith("Z")) {
+			return LocalDateTime.parse(value.substring(0, value.length() - 1), DATE_TIME).toInstant(ZoneOffset.UTC);
+		}
+		return LocalDateTime.parse(value, DATE_TIME).atZone(zone).toInstant();
+	}
+
+	private static DayOfWeek dayOfWeek(String day) {
+		switch (day.toUpperCase()) {
+			case "MO": return DayOfWeek.MONDAY;
+			case "TU": return DayOfWeek.TUESDAY;
+			case "WE": return DayOfWeek.WEDNESDAY;
+			case "TH": return DayOfWeek.THURSDAY;
+			case "FR": return DayOfWeek.FRIDAY;
+			case "SA": return DayOfWeek.SATURDAY;
+			case "SU": return DayOfWeek.SUNDAY;
+			default: throw new IllegalArgumentException("Unsupported day of the week: " + day);
+		}
+	}
+
+	// Whether the rule ends by itself, rather than only at a horizon
+	public boolean isBounded() {
+		return count > 0 || until != null;
+	}
+
+	/**
+	 * The start times of the occurrences, from first in time order, computed as the iterator advances.
+	 * Occurrences starting after the horizon are not included.
+	 */
+	public Iterator<ZonedDateTime> occurrences(ZonedDateTime first, Instant horizon) {
+		List<DayOfWeek> weekDays = new ArrayList<>(days.isEmpty() ? EnumSet.of(first.getDayOfWeek()) : days);
+		weekDays.sort(Comparator.comparingInt(this::daysIntoWeek));
+		LocalDate firstWeekStart = first.toLocalDate().minusDays(daysIntoWeek(first.getDayOfWeek()));
+		return new Iterator<ZonedDateTime>() {
+			private int produced;
+			private long period;      // days or weeks since the first
+			private int dayIndex;     // into weekDays, for weekly rules
+			private ZonedDateTime next = advance();
+
+			private ZonedDateTime advance() {
+				if (count > 0 && produced >= count) return null;
+				ZonedDateTime candidate;
+				if (frequency == Frequency.DAILY) {
+					candidate = first.plusDays(period++ * interval);
+				} else {
+					do {
+						if (dayIndex == weekDays.size()) {
+							dayIndex = 0;
+							period++;
+						}
+						LocalDate week = firstWeekStart.plusWeeks(period * interval);
+						LocalDate date = week.plusDays(daysIntoWeek(weekDays.get(dayIndex++)));
+						candidate = ZonedDateTime.of(date, first.toLocalTime(), first.getZone());
+					} while (candidate.toLocalDate().isBefore(first.toLocalDate()));
+				}
+				Instant start = candidate.toInstant();
+				if ((until != null && start.isAfter(until)) || start.isAfter(horizon)) return null;
+				produced++;
+				return candidate;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return next != null;
+			}
+
+			@Override
+			public ZonedDateTime next() {
+				if (next == null) throw new NoSuchElementException();
+				ZonedDateTime result = next;
+				next = advance();
+				return result;
+			}
+		};
+	}
+
+	private int daysIntoWeek(DayOfWeek day) {
+		return Math.floorMod(day.getValue() - weekStart.getValue(), 7);
+	}
+}
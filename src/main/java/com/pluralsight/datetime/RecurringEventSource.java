@@ -0,0 +1,63 @@
+package com.pluralsight.datetime;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Iterator;
+
+/**
+ * The occurrences of a repeating event, kept as its rule and generated only as they are iterated, so a
+ * series of any length costs the same memory as one event. Occurrences after the horizon are left out,
+ * which also bounds a rule that doesn't end by itself. Each occurrence has its own id, the same on every
+ * iteration.
+ */
+public final class RecurringEventSource implements EventSource {
+
+	private final ZonedDateTime firstStart;
+	private final Duration duration;
+	private final String description;
+	private final RecurrenceRule rule;
+	private final Instant horizon;
+	private final int size;
+	private final long firstId;
+
+	public RecurringEventSource(ZonedDateTime firstStart, Duration duration, String description, RecurrenceRule rule,
+								Instant horizon) {
+		if (duration.isNegative() || duration.compareTo(Duration.ofDays(1)) > 0) {
+			throw new IllegalArgumentException("Events may not be more than 24 hours long");
+		}
+		this.firstStart = firstStart;
+		this.duration = duration;
+		this.description = description;
+		this.rule = rule;
+		this.horizon = horizon;
+		int n = 0;
+		for (Iterator<ZonedDateTime> it = rule.occurrences(firstStart, horizon); it.hasNext(); it.next()) n++;
+		this.size = n;
+		this.firstId = Event.reserveIds(n);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public Iterator<Event> iterator() {
+		Iterator<ZonedDateTime> starts = rule.occurrences(firstStart, horizon);
+		return new Iterator<Event>() {
+			private long nextId = firstId;
+
+			@Override
+			public boolean hasNext() {
+				return starts.hasNext();
+			}
+
+			@Override
+			public Event next() {
+				ZonedDateTime start = starts.next();
+				return Event.withId(nextId++, start, start.plus(duration), description);
+			}
+		};
+	}
+}
@@ -0,0 +1,114 @@
+package com.pluralsight.datetime;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Re-plans a calendar as time passes, producing the same schedules as {@link Calendar#createSchedule} but
+ * reusing work from one call to the next. While the calendar is unchanged, the work periods remaining after
+ * its events are kept; each call finds the first period still in the future by binary search, trims it if
+ * it is in progress, and refills only the periods that receive task parts. The empty periods after those
+ * are shared with the previous schedule. A change to the calendar, or to the clock's zone, causes a full
+ * rebuild. Calendars with {@link Task#notBefore constrained} tasks are always scheduled in full. Not
+ * thread-safe.
+ */
+public class RollingScheduler {
+
+	private final Calendar calendar;
+	private long version = -1;
+	private ZoneId zone;
+	private List<WorkPeriod> schedulablePeriods;    // the periods remaining after events, each long enough to use
+	private List<TaskPart> taskParts;                // the tasks, in scheduling order
+	private boolean constrained;
+	private Schedule lastSchedule;
+
+	public RollingScheduler(Calendar calendar) {
+		this.calendar = calendar;
+	}
+
+	public Schedule createSchedule(Clock clock) {
+		if (calendar.getVersion() != version || !clock.getZone().equals(zone)) {
+			rebuild(clock.getZone());
+		}
+		if (constrained) {
+			// constrained tasks may land in any period, so there is no settled tail to reuse
+			lastSchedule = calendar.createSchedule(clock);
+			return lastSchedule;
+		}
+		LocalDateTime now = LocalDateTime.now(clock);
+		int first = firstSchedulable(now);
+
+		List<WorkPeriod> filledPeriods = new ArrayList<>();
+		List<TaskPart> remainingTaskParts = taskParts;
+		int next = first;
+		for (; next < schedulablePeriods.size(); next++) {
+			WorkPeriod p = schedulablePeriods.get(next);
+			if (remainingTaskParts.isEmpty() && !p.getStartTime().isBefore(now)) break;
+			WorkPeriod.Split filled = Calendar.fill(p, now, remainingTaskParts);
+			filledPeriods.add(filled.getBefore());
+			remainingTaskParts = filled.getAfter().getTaskParts();
+		}
+		List<WorkPeriod> unfilledPeriods = schedulablePeriods.subList(next, schedulablePeriods.size());
+		List<WorkPeriod> scheduledPeriods = new Concatenation<>(filledPeriods, unfilledPeriods);
+		lastSchedule = new Schedule(zone, scheduledPeriods, calendar.getEvents(), remainingTaskParts.isEmpty());
+		return lastSchedule;
+	}
+
+	// The schedule returned by the last call of createSchedule, or null if there has been none
+	public Schedule getLastSchedule() {
+		return lastSchedule;
+	}
+
+	private void rebuild(ZoneId newZone) {
+		zone = newZone;
+		version = calendar.getVersion();
+		taskParts = calendar.taskPartsInScheduleOrder();
+		constrained = Calendar.hasConstrainedTask(taskParts);
+		schedulablePeriods = new ArrayList<>();
+		for (WorkPeriod p : calendar.overwritePeriodsByEvents(zone)) {
+			// a period starting after now is schedulable if, and only if, it is long enough
+			if (Calendar.isSchedulable(p, p.getStartTime())) schedulablePeriods.add(p);
+		}
+	}
+
+	// Periods don't overlap, so their end times are ordered too, and a period is schedulable at now if,
+	// and only if, it ends later than now + MINIMUM_DURATION
+	private int firstSchedulable(LocalDateTime now) {
+		LocalDateTime earliestEnd = now.plus(WorkPeriod.MINIMUM_DURATION);
+		int low = 0, high = schedulablePeriods.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (schedulablePeriods.get(mid).getEndTime().isAfter(earliestEnd)) {
+				high = mid;
+			} else {
+				low = mid + 1;
+			}
+		}
+		return low;
+	}
+
+	// A read-only view of one list followed by another
+	private static final class Concatenation<E> extends AbstractList<E> {
+		private final List<E> head;
+		private final List<E> tail;
+
+		Concatenation(List<E> head, List<E> tail) {
+			this.head = head;
+			this.tail = tail;
+		}
+
+		@Override
+		public E get(int index) {
+			return index < head.size() ? head.get(index) : tail.get(index - head.size());
+		}
+
+		@Override
+		public int size() {
+			return head.size() + tail.size();
+		}
+	}
+}
@@ -1,29 +1,38 @@
 package com.pluralsight.datetime;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.time.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
-import static java.util.stream.Collectors.*;
+import static java.util.stream.Collectors.toMap;
 
 public class Schedule {
 
 	private final ZoneId zoneId;
 	private final List<WorkPeriod> scheduledPeriods;
-	private final NavigableSet<Event> events;
+	private final Collection<Event> events;
 
 	List<WorkPeriod> getScheduledPeriods() {
 		return scheduledPeriods;
 	}
 
+	ZoneId getZoneId() {
+		return zoneId;
+	}
+
 	boolean isSuccessful() {
 		return successful;
 	}
 
 	private final boolean successful;
 
-	public Schedule(ZoneId zoneId, List<WorkPeriod> scheduledPeriods, NavigableSet<Event> events, boolean success) {
+	// derived lazily; a race can at worst compute one twice
+	private final Map<ZoneId, String> renderings = new ConcurrentHashMap<>();
+	private final Map<ZoneId, NavigableMap<LocalDate, DayView>> dayIndexes = new ConcurrentHashMap<>();
+	private volatile Instant[] periodBoundaries;
+	private volatile Map<Task, Integer> taskPartCounts;
+
+	public Schedule(ZoneId zoneId, List<WorkPeriod> scheduledPeriods, Collection<Event> events, boolean success) {
 		this.zoneId = zoneId;
 		this.scheduledPeriods = scheduledPeriods;
 		this.events = events;
@@ -32,44 +41,126 @@ public class Schedule {
 
 	@Override
 	public String toString() {
+		return toString(zoneId);
+	}
 
+	/**
+	 * Renders this schedule as seen from the given zone, with periods and events converted to that zone's
+	 * local time and grouped by its days. Each zone's rendering is computed once and then reused.
+	 */
+	public String toString(ZoneId zone) {
 		if (!successful) return "Schedule unsuccessful: insufficent time for tasks";
+		return renderings.computeIfAbsent(zone, this::render);
+	}
 
-		List<WorkPeriod> printablePeriods = scheduledPeriods.stream().map(WorkPeriod::copy).collect(toList());
-		List<WorkPeriod> periodSplitByMidnight = printablePeriods.stream()
-				.map(WorkPeriod::split)
-				.filter(Optional::isPresent)
-				.map(Optional::get)
-				.collect(toList());
-		printablePeriods.addAll(periodSplitByMidnight);
+	/**
+	 * The changes from a previous schedule of the same calendar to this one, found in a single pass over
+	 * each schedule's periods and events; see {@link ScheduleDiff}.
+	 *
+	 * @throws IllegalArgumentException if the schedules were built for different zones
+	 */
+	public ScheduleDiff diff(Schedule previous) {
+		if (!previous.zoneId.equals(zoneId)) {
+			throw new IllegalArgumentException("Cannot compare schedules in " + previous.zoneId + " and " + zoneId);
+		}
+		return new ScheduleDiff(previous.scheduledPeriods, scheduledPeriods, previous.events, events,
+				previous.successful, successful);
+	}
 
-		NavigableMap<LocalDateTime, String> dateTimeToPeriodOutput = printablePeriods.stream()
-				.collect(groupingBy(WorkPeriod::getStartTime, TreeMap::new, mapping(WorkPeriod::toString, joining())));
+	// Renders this schedule in each of the given zones, from the same scheduled periods and events
+	public Map<ZoneId, String> toStrings(Collection<ZoneId> zones) {
+		Map<ZoneId, String> result = new LinkedHashMap<>();
+		for (ZoneId zone : zones) {
+			result.put(zone, toString(zone));
+		}
+		return result;
+	}
 
-		List<Event> printableEvents = events.stream().map(Event::copy).collect(toList());
-		List<Event> eventsSplitByMidnight = printableEvents.stream()
-				.map(e -> e.split(zoneId))
-				.filter(Optional::isPresent)
-				.map(Optional::get)
-				.collect(toList());
-		printableEvents.addAll(eventsSplitByMidnight);
+	/**
+	 * The schedule divided into days, as seen from its own zone. The index is built on first use; after
+	 * that, looking up a day or range of days costs O(log n).
+	 */
+	public NavigableMap<LocalDate, DayView> getDays() {
+		return getDays(zoneId);
+	}
 
-		Map<LocalDateTime, String> dateTimeToEventOutput = printableEvents.stream()
-				.collect(groupingBy(e -> e.getLocalStartDateTime(zoneId), mapping(e -> e.toString(zoneId), joining())));
+	// The schedule divided into the days of the given zone, with times local to that zone
+	public NavigableMap<LocalDate, DayView> getDays(ZoneId zone) {
+		return dayIndexes.computeIfAbsent(zone, this::indexByDay);
+	}
 
-		dateTimeToPeriodOutput.putAll(dateTimeToEventOutput);
+	// The day's periods, task parts and events; empty if nothing is scheduled on the date
+	public DayView forDate(LocalDate date) {
+		DayView day = getDays().get(date);
+		return day != null ? day : new DayView(date, zoneId, Collections.emptyMap());
+	}
 
-		NavigableMap<LocalDate, String> dateToCalendarObjectOutput = dateTimeToPeriodOutput.entrySet().stream()
-				.collect(groupingBy(e -> e.getKey().toLocalDate(), TreeMap::new, mapping(Map.Entry::getValue,joining())));
+	// The days from fromInclusive up to toExclusive with anything scheduled on them
+	public NavigableMap<LocalDate, DayView> forRange(LocalDate fromInclusive, LocalDate toExclusive) {
+		return getDays().subMap(fromInclusive, true, toExclusive, false);
+	}
 
+	private String render(ZoneId zone) {
 		StringBuilder sb = new StringBuilder();
+		for (DayView day : getDays(zone).values()) {
+			sb.append(day);
+		}
+		return sb.toString();
+	}
 
-		for (LocalDate date : dateToCalendarObjectOutput.keySet()) {
-			sb.append("\n");
-			sb.append(date);
-			sb.append(dateToCalendarObjectOutput.get(date));
+	// One pass over the periods and one over the events, bucketing them by local start date in the zone;
+	// periods and events are immutable, so splitting them by midnight leaves the schedule untouched
+	private NavigableMap<LocalDate, DayView> indexByDay(ZoneId zone) {
+		Map<Task, Integer> taskPartCounts = getTaskPartCounts();
+		NavigableMap<LocalDate, DayView> days = new TreeMap<>();
+		for (WorkPeriod p : getScheduledPeriods(zone)) {
+			for (WorkPeriod part : p.splitByMidnight()) {
+				days.computeIfAbsent(part.getStartTime().toLocalDate(), d -> new DayView(d, zone, taskPartCounts)).addWorkPeriod(part);
+			}
+		}
+		for (Event e : events) {
+			for (Event part : e.split(zone)) {
+				days.computeIfAbsent(part.getLocalStartDateTime(zone).toLocalDate(), d -> new DayView(d, zone, taskPartCounts)).addEvent(part);
+			}
 		}
+		return Collections.unmodifiableNavigableMap(days);
+	}
 
-		return sb.toString();
+	// The scheduled periods with their times converted to local times in the given zone
+	private List<WorkPeriod> getScheduledPeriods(ZoneId zone) {
+		if (zone.equals(zoneId)) return scheduledPeriods;
+		Instant[] boundaries = getPeriodBoundaries();
+		List<WorkPeriod> converted = new ArrayList<>(scheduledPeriods.size());
+		for (int i = 0; i < scheduledPeriods.size(); i++) {
+			converted.add(new WorkPeriod(LocalDateTime.ofInstant(boundaries[2 * i], zone),
+					LocalDateTime.ofInstant(boundaries[2 * i + 1], zone), scheduledPeriods.get(i).getTaskParts()));
+		}
+		return converted;
+	}
+
+	// The start and end instants of each scheduled period, computed once for all zones
+	private Instant[] getPeriodBoundaries() {
+		Instant[] boundaries = periodBoundaries;
+		if (boundaries == null) {
+			boundaries = new Instant[2 * scheduledPeriods.size()];
+			for (int i = 0; i < scheduledPeriods.size(); i++) {
+				WorkPeriod p = scheduledPeriods.get(i);
+				boundaries[2 * i] = ZonedDateTime.of(p.getStartTime(), zoneId).toInstant();
+				boundaries[2 * i + 1] = ZonedDateTime.of(p.getEndTime(), zoneId).toInstant();
+			}
+			periodBoundaries = boundaries;
+		}
+		return boundaries;
+	}
+
+	private Map<Task, Integer> getTaskPartCounts() {
+		Map<Task, Integer> counts = taskPartCounts;
+		if (counts == null) {
+			counts = scheduledPeriods.stream()
+					.flatMap(p -> p.getTaskParts().stream())
+					.collect(toMap(TaskPart::getOwner, TaskPart::getPartSequenceNumber, Math::max));
+			taskPartCounts = counts;
+		}
+		return counts;
 	}
 }
@@ -0,0 +1,173 @@
+package com.pluralsight.datetime;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A bounded, least-recently-used cache of schedules. A schedule is reused for every request for the same
+ * calendar, at the same {@link Calendar#getVersion() version}, in the same zone, whose clock falls in the
+ * same time bucket; it is built as at the start of that bucket. Thread-safe.
+ */
+public class ScheduleCache {
+
+	private static final class Key {
+		private final Calendar calendar;
+		private final long version;
+		private final ZoneId zone;
+		private final Instant bucketStart;
+
+		Key(Calendar calendar, long version, ZoneId zone, Instant bucketStart) {
+			this.calendar = calendar;
+			this.version = version;
+			this.zone = zone;
+			this.bucketStart = bucketStart;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+
+			Key key = (Key) o;
+
+			return calendar == key.calendar && version == key.version && zone.equals(key.zone) && bucketStart.equals(key.bucketStart);
+		}
+
+		@Override
+		public int hashCode() {
+			int result = System.identityHashCode(calendar);
+			result = 31 * result + Long.hashCode(version);
+			result = 31 * result + zone.hashCode();
+			result = 31 * result + bucketStart.hashCode();
+			return result;
+		}
+	}
+
+	private static final class CachedSchedule {
+		private final Schedule schedule;
+		private volatile String rendered;
+
+		CachedSchedule(Schedule schedule) {
+			this.schedule = schedule;
+		}
+
+		String getRendered() {
+			String r = rendered;
+			if (r == null) {
+				rendered = r = schedule.toString();
+			}
+			return r;
+		}
+	}
+
+	private final int maximumSize;
+	private final long bucketMillis;
+	private final Map<Key, CachedSchedule> entries;
+	private long hitCount;
+	private long missCount;
+	private long evictionCount;
+
+	public ScheduleCache(int maximumSize, Duration clockBucket) {
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException("Cache size must be positive: " + maximumSize);
+		}
+		if (clockBucket.toMillis() < 1) {
+			throw new IllegalArgumentException("Clock bucket must be at least a millisecond: " + clockBucket);
+		}
+		this.maximumSize = maximumSize;
+		this.bucketMillis = clockBucket.toMillis();
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, CachedSchedule> eldest) {
+				if (size() > ScheduleCache.this.maximumSize) {
+					evictionCount++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	public Schedule getSchedule(Calendar calendar, Clock clock) {
+		return getCachedSchedule(calendar, clock).schedule;
+	}
+
+	// The schedule's toString(), rendered at most once per cached schedule
+	public String getRenderedSchedule(Calendar calendar, Clock clock) {
+		return getCachedSchedule(calendar, clock).getRendered();
+	}
+
+	private CachedSchedule getCachedSchedule(Calendar calendar, Clock clock) {
+		Objects.requireNonNull(calendar);
+		long millis = clock.millis();
+		Instant bucketStart = Instant.ofEpochMilli(Math.floorDiv(millis, bucketMillis) * bucketMillis);
+		// the key's version and the build both come from one snapshot, so a concurrent change can't put newer
+		// content in the cache under an older version
+		Calendar snapshot = calendar.fork();
+		Key key = new Key(calendar, snapshot.getVersion(), clock.getZone(), bucketStart);
+		synchronized (entries) {
+			CachedSchedule entry = entries.get(key);
+			if (entry != null) {
+				hitCount++;
+				return entry;
+			}
+			missCount++;
+		}
+		// built outside the lock, so a slow build doesn't hold up other calendars
+		CachedSchedule entry = new CachedSchedule(snapshot.createSchedule(Clock.fixed(bucketStart, clock.getZone())));
+		synchronized (entries) {
+			CachedSchedule raced = entries.putIfAbsent(key, entry);
+			return raced != null ? raced : entry;
+		}
+	}
+
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	public long getHitCount() {
+		synchronized (entries) {
+			return hitCount;
+		}
+	}
+
+	public long getMissCount() {
+		synchronized (entries) {
+			return missCount;
+		}
+	}
+
+	public long getEvictionCount() {
+		synchronized (entries) {
+			return evictionCount;
+		}
+	}
+
+	public double getHitRate() {
+		synchronized (entries) {
+			long requests = hitCount + missCount;
+			return requests == 0 ? 0 : (double) hitCount / requests;
+		}
+	}
+
+	@Override
+	public String toString() {
+		synchronized (entries) {
+			return "ScheduleCache{size=" + entries.size() + "/" + maximumSize + ", hits=" + hitCount +
+					", misses=" + missCount + ", evictions=" + evictionCount + "}";
+		}
+	}
+}
@@ -0,0 +1,224 @@
+package com.pluralsight.datetime;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The changes from one schedule to a later one, as found by {@link Schedule#diff}: the scheduled periods
+ * added and removed, those whose end or task parts changed, and the events added, removed or changed.
+ * Periods are matched by start time and events by id.
+ */
+public class ScheduleDiff {
+
+	// A period present in both schedules, with different contents
+	public static final class PeriodChange {
+
+		private final WorkPeriod before;
+		private final WorkPeriod after;
+
+		private PeriodChange(WorkPeriod before, WorkPeriod after) {
+			this.before = before;
+			this.after = after;
+		}
+
+		public WorkPeriod getBefore() {
+			return before;
+		}
+
+		public WorkPeriod getAfter() {
+			return after;
+		}
+
+		public List<TaskPart> getAddedTaskParts() {
+			return difference(after.getTaskParts(), before.getTaskParts());
+		}
+
+		public List<TaskPart> getRemovedTaskParts() {
+			return difference(before.getTaskParts(), after.getTaskParts());
+		}
+
+		// The parts of a not in b, counting repeats
+		private static List<TaskPart> difference(List<TaskPart> a, List<TaskPart> b) {
+			List<TaskPart> remaining = new ArrayList<>(a);
+			for (TaskPart tp : b) remaining.remove(tp);
+			return remaining;
+		}
+	}
+
+	private final List<WorkPeriod> addedPeriods = new ArrayList<>();
+	private final List<WorkPeriod> removedPeriods = new ArrayList<>();
+	private final List<PeriodChange> changedPeriods = new ArrayList<>();
+	private final List<Event> addedEvents = new ArrayList<>();
+	private final List<Event> removedEvents = new ArrayList<>();
+	private final List<Event> changedEvents = new ArrayList<>();
+	private final List<Event> movedEvents = new ArrayList<>();
+	private final List<Event> renamedEvents = new ArrayList<>();
+	private final List<Task> addedTasks = new ArrayList<>();
+	private final boolean successChanged;
+	private final boolean successful;
+
+	/**
+	 * One pass over the two period lists, both in start-time order, and one over the events of each. Periods
+	 * shared by the two schedules, as they are by schedules from a {@link RollingScheduler}, are recognised by
+	 * identity without being compared.
+	 */
+	ScheduleDiff(List<WorkPeriod> previousPeriods, List<WorkPeriod> currentPeriods,
+				 Collection<Event> previousEvents, Collection<Event> currentEvents,
+				 boolean previouslySuccessful, boolean successful) {
+		int i = 0, j = 0;
+		while (i < previousPeriods.size() && j < currentPeriods.size()) {
+			WorkPeriod before = previousPeriods.get(i);
+			WorkPeriod after = currentPeriods.get(j);
+			int c = before.getStartTime().compareTo(after.getStartTime());
+			if (c < 0) {
+				removedPeriods.add(before);
+				i++;
+			} else if (c > 0) {
+				addedPeriods.add(after);
+				j++;
+			} else {
+				if (before != after && !before.equals(after)) changedPeriods.add(new PeriodChange(before, after));
+				i++;
+				j++;
+			}
+		}
+		removedPeriods.addAll(previousPeriods.subList(i, previousPeriods.size()));
+		addedPeriods.addAll(currentPeriods.subList(j, currentPeriods.size()));
+		if (!addedPeriods.isEmpty() || !changedPeriods.isEmpty()) findAddedTasks(previousPeriods, currentPeriods);
+
+		if (previousEvents != currentEvents) {
+			Map<Long, Event> previousById = new HashMap<>();
+			for (Event e : previousEvents) previousById.put(e.getId(), e);
+			for (Event e : currentEvents) {
+				Event previous = previousById.remove(e.getId());
+				if (previous == null) {
+					addedEvents.add(e);
+				} else if (previous != e) {
+					boolean moved = !previous.getStartInstant().equals(e.getStartInstant())
+							|| !previous.getEndInstant().equals(e.getEndInstant());
+					boolean renamed = !previous.getDescription().equals(e.getDescription());
+					if (moved || renamed) changedEvents.add(e);
+					if (moved) movedEvents.add(e);
+					if (renamed) renamedEvents.add(e);
+				}
+			}
+			removedEvents.addAll(previousById.values());
+			removedEvents.sort(null);
+		}
+		this.successChanged = previouslySuccessful != successful;
+		this.successful = successful;
+	}
+
+	// Tasks with parts in the current schedule but not the previous one, in order of their first parts
+	private void findAddedTasks(List<WorkPeriod> previousPeriods, List<WorkPeriod> currentPeriods) {
+		Set<Task> previousTasks = new HashSet<>();
+		for (WorkPeriod p : previousPeriods) {
+			for (TaskPart tp : p.getTaskParts()) previousTasks.add(tp.getOwner());
+		}
+		Set<Task> added = new LinkedHashSet<>();
+		for (WorkPeriod p : currentPeriods) {
+			for (TaskPart tp : p.getTaskParts()) {
+				if (!previousTasks.contains(tp.getOwner())) added.add(tp.getOwner());
+			}
+		}
+		addedTasks.addAll(added);
+	}
+
+	// Tasks scheduled now that weren't before, whose descriptions clients don't yet have
+	public List<Task> getAddedTasks() {
+		return Collections.unmodifiableList(addedTasks);
+	}
+
+	public List<WorkPeriod> getAddedPeriods() {
+		return Collections.unmodifiableList(addedPeriods);
+	}
+
+	public List<WorkPeriod> getRemovedPeriods() {
+		return Collections.unmodifiableList(removedPeriods);
+	}
+
+	public List<PeriodChange> getChangedPeriods() {
+		return Collections.unmodifiableList(changedPeriods);
+	}
+
+	public List<Event> getAddedEvents() {
+		return Collections.unmodifiableList(addedEvents);
+	}
+
+	public List<Event> getRemovedEvents() {
+		return Collections.unmodifiableList(removedEvents);
+	}
+
+	// The new versions of events whose times or descriptions changed
+	public List<Event> getChangedEvents() {
+		return Collections.unmodifiableList(changedEvents);
+	}
+
+	public boolean isEmpty() {
+		return addedPeriods.isEmpty() && removedPeriods.isEmpty() && changedPeriods.isEmpty()
+				&& addedEvents.isEmpty() && removedEvents.isEmpty() && changedEvents.isEmpty() && !successChanged;
+	}
+
+	/**
+	 * A compact text form of the changes for sending to clients, one per line. Periods are identified by their
+	 * local start time in the schedule's zone, and tasks and events by id; clients already holding the previous
+	 * schedule have their descriptions, so only those of added tasks and events are sent. Each line is one of:
+	 * <pre>
+	 * s &lt;successful&gt;                      the schedule's success changed
+	 * +t &lt;id&gt; &lt;description&gt;                task newly scheduled, before the periods holding its parts
+	 * -p &lt;start&gt;                           period removed
+	 * +p &lt;start&gt; &lt;end&gt; &lt;parts&gt;            period added
+	 * ~p &lt;start&gt; &lt;end&gt; &lt;parts&gt;            period replaced
+	 * -e &lt;id&gt;                              event removed
+	 * +e &lt;id&gt; &lt;start&gt; &lt;end&gt; &lt;description&gt;  event added, with instants
+	 * ~e &lt;id&gt; &lt;start&gt; &lt;end&gt;              event moved
+	 * ~n &lt;id&gt; &lt;description&gt;                event renamed
+	 * </pre>
+	 * where parts is a comma-separated list of taskId.partNumber=duration, or - for none. An event both moved
+	 * and renamed has both lines.
+	 */
+	public String encode() {
+		StringBuilder sb = new StringBuilder();
+		if (successChanged) sb.append("s ").append(successful).append('\n');
+		for (Task t : addedTasks) sb.append("+t ").append(t.getId()).append(' ').append(oneLine(t.getDescription())).append('\n');
+		for (WorkPeriod p : removedPeriods) sb.append("-p ").append(p.getStartTime()).append('\n');
+		for (WorkPeriod p : addedPeriods) appendPeriod(sb.append("+p "), p);
+		for (PeriodChange change : changedPeriods) appendPeriod(sb.append("~p "), change.getAfter());
+		for (Event e : removedEvents) sb.append("-e ").append(e.getId()).append('\n');
+		for (Event e : addedEvents) appendDescription(appendEventTimes(sb.append("+e "), e).append(' '), e);
+		for (Event e : movedEvents) appendEventTimes(sb.append("~e "), e).append('\n');
+		for (Event e : renamedEvents) appendDescription(sb.append("~n ").append(e.getId()).append(' '), e);
+		return sb.toString();
+	}
+
+	private static void appendPeriod(StringBuilder sb, WorkPeriod p) {
+		sb.append(p.getStartTime()).append(' ').append(p.getEndTime()).append(' ');
+		List<TaskPart> parts = p.getTaskParts();
+		if (parts.isEmpty()) sb.append('-');
+		for (int i = 0; i < parts.size(); i++) {
+			TaskPart tp = parts.get(i);
+			if (i > 0) sb.append(',');
+			sb.append(tp.getOwner().getId()).append('.').append(tp.getPartSequenceNumber()).append('=').append(tp.getDuration());
+		}
+		sb.append('\n');
+	}
+
+	private static void appendDescription(StringBuilder sb, Event e) {
+		sb.append(oneLine(e.getDescription())).append('\n');
+	}
+
+	private static String oneLine(String description) {
+		return description.replace('\n', ' ');
+	}
+
+	private static StringBuilder appendEventTimes(StringBuilder sb, Event e) {
+		return sb.append(e.getId()).append(' ').append(e.getStartInstant()).append(' ').append(e.getEndInstant());
+	}
+}
@@ -0,0 +1,165 @@
+package com.pluralsight.datetime;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Calls a listener as the start and end of each scheduled period and task part is reached, for any number of
+ * schedules, each identified by a key. The boundaries are held as timers in a {@link TimingWheel} with the
+ * given tick, so arming and firing each costs O(1) however many are pending. A boundary fires at the first
+ * call of {@link #advance} once the clock has reached it, rounded up to a whole tick. Dispatching a
+ * new schedule for a key, such as one rebuilt after the calendar changed, replaces the timers of the old one;
+ * a key can {@link #follow} a {@link BackgroundRescheduler} to have each schedule it builds dispatched so.
+ */
+public class ScheduleDispatcher<K> {
+
+	private enum Kind { PERIOD_START, PART_START, PART_END, PERIOD_END }
+
+	private static final class Boundary<K> {
+		final K key;
+		final Kind kind;
+		final WorkPeriod period;
+		final TaskPart part;
+		TimingWheel.Timer<Boundary<K>> timer;
+
+		Boundary(K key, Kind kind, WorkPeriod period, TaskPart part) {
+			this.key = key;
+			this.kind = kind;
+			this.period = period;
+			this.part = part;
+		}
+	}
+
+	private final Clock clock;
+	private final long tickNanos;
+	private final Instant origin;
+	private final DispatchListener<K> listener;
+	private final TimingWheel<Boundary<K>> wheel;
+	// timers are dropped as they fire, and keys once all their timers have
+	private final Map<K, Set<TimingWheel.Timer<Boundary<K>>>> timersByKey = new HashMap<>();
+	private final Map<K, Object> subscriptionsByKey = new HashMap<>();
+	private final Map<K, Runnable> unfollowByKey = new HashMap<>();
+
+	public ScheduleDispatcher(Clock clock, Duration tick, DispatchListener<K> listener) {
+		if (tick.isNegative() || tick.isZero()) {
+			throw new IllegalArgumentException("Tick must be positive: " + tick);
+		}
+		this.clock = clock;
+		this.tickNanos = tick.toNanos();
+		this.origin = clock.instant();
+		this.listener = listener;
+		this.wheel = new TimingWheel<>(0);
+	}
+
+	/**
+	 * Arms the boundaries of the schedule that are still to come, replacing any schedule previously dispatched
+	 * for the key. Boundaries already passed, such as the start of a period in progress, are not fired.
+	 */
+	public synchronized void dispatch(K key, Schedule schedule) {
+		cancelTimers(key);
+		Instant now = clock.instant();
+		Set<TimingWheel.Timer<Boundary<K>>> timers = new HashSet<>();
+		for (WorkPeriod p : schedule.getScheduledPeriods()) {
+			Instant start = ZonedDateTime.of(p.getStartTime(), schedule.getZoneId()).toInstant();
+			Instant end = ZonedDateTime.of(p.getEndTime(), schedule.getZoneId()).toInstant();
+			if (!end.isAfter(now)) continue;
+			arm(timers, start, now, new Boundary<>(key, Kind.PERIOD_START, p, null));
+			Instant partStart = start;
+			for (TaskPart tp : p.getTaskParts()) {
+				Instant partEnd = partStart.plus(tp.getDuration());
+				arm(timers, partStart, now, new Boundary<>(key, Kind.PART_START, p, tp));
+				arm(timers, partEnd, now, new Boundary<>(key, Kind.PART_END, p, tp));
+				partStart = partEnd;
+			}
+			arm(timers, end, now, new Boundary<>(key, Kind.PERIOD_END, p, null));
+		}
+		if (timers.isEmpty()) timersByKey.remove(key); else timersByKey.put(key, timers);
+	}
+
+	/**
+	 * Dispatches, for the key, the latest schedule built by the rescheduler and each one it builds from now on,
+	 * in place of any the key followed before. The key follows the rescheduler until it is removed.
+	 */
+	public void follow(K key, BackgroundRescheduler rescheduler) {
+		// identifies this subscription, so a schedule delivered after it has ended is ignored
+		Object subscription = new Object();
+		Consumer<Schedule> rearm = schedule -> {
+			synchronized (this) {
+				if (subscriptionsByKey.get(key) == subscription) dispatch(key, schedule);
+			}
+		};
+		Runnable previous;
+		synchronized (this) {
+			subscriptionsByKey.put(key, subscription);
+			previous = unfollowByKey.put(key, () -> rescheduler.removeScheduleListener(rearm));
+		}
+		if (previous != null) previous.run();
+		rescheduler.addScheduleListener(rearm);
+	}
+
+	// Disarms the schedule dispatched for the key, if any, and stops following a rescheduler for it
+	public void remove(K key) {
+		Runnable unfollow;
+		synchronized (this) {
+			cancelTimers(key);
+			timersByKey.remove(key);
+			subscriptionsByKey.remove(key);
+			unfollow = unfollowByKey.remove(key);
+		}
+		if (unfollow != null) unfollow.run();
+	}
+
+	/**
+	 * Fires, in time order, the boundaries passed since the last call. Listeners are called without holding
+	 * the dispatcher's lock, so may dispatch schedules themselves.
+	 */
+	public void advance() {
+		List<Boundary<K>> due = new ArrayList<>();
+		synchronized (this) {
+			wheel.advanceTo(Math.floorDiv(Duration.between(origin, clock.instant()).toNanos(), tickNanos), due::add);
+			for (Boundary<K> b : due) {
+				Set<TimingWheel.Timer<Boundary<K>>> timers = timersByKey.get(b.key);
+				timers.remove(b.timer);
+				if (timers.isEmpty()) timersByKey.remove(b.key);
+			}
+		}
+		for (Boundary<K> b : due) {
+			switch (b.kind) {
+				case PERIOD_START: listener.periodStarted(b.key, b.period); break;
+				case PART_START: listener.taskPartStarted(b.key, b.part); break;
+				case PART_END: listener.taskPartEnded(b.key, b.part); break;
+				case PERIOD_END: listener.periodEnded(b.key, b.period); break;
+			}
+		}
+	}
+
+	public synchronized int getPendingCount() {
+		return wheel.size();
+	}
+
+	private void arm(Set<TimingWheel.Timer<Boundary<K>>> timers, Instant at, Instant now, Boundary<K> boundary) {
+		if (!at.isAfter(now)) return;
+		long nanos = Duration.between(origin, at).toNanos();
+		boundary.timer = wheel.schedule(Math.floorDiv(nanos + tickNanos - 1, tickNanos), boundary);
+		timers.add(boundary.timer);
+	}
+
+	// The number of keys with timers still to fire
+	synchronized int getArmedKeyCount() {
+		return timersByKey.size();
+	}
+
+	private void cancelTimers(K key) {
+		Set<TimingWheel.Timer<Boundary<K>>> timers = timersByKey.get(key);
+		if (timers != null) timers.forEach(wheel::cancel);
+	}
+}
@@ -0,0 +1,108 @@
+package com.pluralsight.datetime;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link SchedulingListener} accumulating counters and a latency histogram over all the schedules it
+ * is told about. It is thread-safe, so one instance can be shared by many calendars.
+ */
+public class ScheduleMetrics implements SchedulingListener {
+
+	// bucket i counts builds taking less than 2^i microseconds (and at least 2^(i-1)); the last bucket is open
+	private static final int BUCKET_COUNT = 32;
+
+	private final LongAdder scheduleCount = new LongAdder();
+	private final LongAdder unsuccessfulCount = new LongAdder();
+	private final LongAdder periodCount = new LongAdder();
+	private final LongAdder eventCount = new LongAdder();
+	private final LongAdder taskPartCount = new LongAdder();
+	private final LongAdder periodSplitCount = new LongAdder();
+	private final LongAdder taskPartSplitCount = new LongAdder();
+	private final LongAdder mergeNanos = new LongAdder();
+	private final LongAdder fillNanos = new LongAdder();
+	private final AtomicLongArray latencyBuckets = new AtomicLongArray(BUCKET_COUNT);
+
+	@Override
+	public void scheduleBuilt(SchedulingStats stats) {
+		scheduleCount.increment();
+		if (!stats.isSuccessful()) unsuccessfulCount.increment();
+		periodCount.add(stats.getPeriodCount());
+		eventCount.add(stats.getEventCount());
+		taskPartCount.add(stats.getTaskPartCount());
+		periodSplitCount.add(stats.getPeriodSplitCount());
+		taskPartSplitCount.add(stats.getTaskPartSplitCount());
+		mergeNanos.add(stats.getMergeDuration().toNanos());
+		fillNanos.add(stats.getFillDuration().toNanos());
+		latencyBuckets.incrementAndGet(bucketOf(stats.getTotalDuration().toNanos() / 1000));
+	}
+
+	private static int bucketOf(long micros) {
+		return Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(micros));
+	}
+
+	public long getScheduleCount() {
+		return scheduleCount.sum();
+	}
+
+	public long getUnsuccessfulCount() {
+		return unsuccessfulCount.sum();
+	}
+
+	public long getPeriodCount() {
+		return periodCount.sum();
+	}
+
+	public long getEventCount() {
+		return eventCount.sum();
+	}
+
+	public long getTaskPartCount() {
+		return taskPartCount.sum();
+	}
+
+	public long getPeriodSplitCount() {
+		return periodSplitCount.sum();
+	}
+
+	public long getTaskPartSplitCount() {
+		return taskPartSplitCount.sum();
+	}
+
+	public Duration getTotalMergeDuration() {
+		return Duration.ofNanos(mergeNanos.sum());
+	}
+
+	public Duration getTotalFillDuration() {
+		return Duration.ofNanos(fillNanos.sum());
+	}
+
+	// An upper bound, to within a factor of two, on the given percentile (0-100) of schedule build latency
+	public Duration getLatencyPercentile(double percentile) {
+		long[] counts = new long[BUCKET_COUNT];
+		long total = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts[i] = latencyBuckets.get(i);
+			total += counts[i];
+		}
+		long rank = (long) Math.ceil(total * percentile / 100);
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += counts[i];
+			if (seen >= rank && seen > 0) {
+				return Duration.ofNanos(1000L << i);
+			}
+		}
+		return Duration.ZERO;
+	}
+
+	// Build counts per latency bucket; bucket i covers latencies below 2^i microseconds
+	public long[] getLatencyHistogram() {
+		long[] counts = new long[BUCKET_COUNT];
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts[i] = latencyBuckets.get(i);
+		}
+		return counts;
+	}
+}
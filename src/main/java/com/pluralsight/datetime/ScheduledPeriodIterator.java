@@ -0,0 +1,46 @@
+package com.pluralsight.datetime;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Yields the periods of a schedule one at a time, each filled with task parts as by
+ * {@link Calendar#createSchedule}. Each call advances the merge of work periods and events only as far
+ * as the next schedulable period, so the cost of the first result doesn't depend on the horizon.
+ */
+final class ScheduledPeriodIterator implements Iterator<WorkPeriod> {
+
+	private final Iterator<WorkPeriod> overwrittenPeriods;
+	private final LocalDateTime now;
+	private List<TaskPart> remainingTaskParts;
+	private WorkPeriod next;
+
+	ScheduledPeriodIterator(Iterator<WorkPeriod> overwrittenPeriods, LocalDateTime now, List<TaskPart> taskParts) {
+		this.overwrittenPeriods = overwrittenPeriods;
+		this.now = now;
+		this.remainingTaskParts = taskParts;
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (next == null && overwrittenPeriods.hasNext()) {
+			WorkPeriod p = overwrittenPeriods.next();
+			if (Calendar.isSchedulable(p, now)) {
+				WorkPeriod.Split filled = Calendar.fill(p, now, remainingTaskParts);
+				next = filled.getBefore();
+				remainingTaskParts = filled.getAfter().getTaskParts();
+			}
+		}
+		return next != null;
+	}
+
+	@Override
+	public WorkPeriod next() {
+		if (!hasNext()) throw new NoSuchElementException();
+		WorkPeriod result = next;
+		next = null;
+		return result;
+	}
+}
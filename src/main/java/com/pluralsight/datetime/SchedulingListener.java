@@ -0,0 +1,17 @@
+package com.pluralsight.datetime;
+
+/**
+ * Receives timings and counts from each schedule built by a {@link Calendar}. Listeners are called on the
+ * thread that built the schedule, before {@link Calendar#createSchedule} returns it, and the time they take
+ * is not in the reported timings.
+ *
+ * @see ScheduleMetrics
+ * @see JfrSchedulingListener
+ */
+public interface SchedulingListener {
+
+	// The default listener; when it is in use, Calendar does no measurement at all
+	SchedulingListener NONE = stats -> { };
+
+	void scheduleBuilt(SchedulingStats stats);
+}
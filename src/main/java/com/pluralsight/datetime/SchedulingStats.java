@@ -0,0 +1,81 @@
+package com.pluralsight.datetime;
+
+import java.time.Duration;
+
+// Timings and counts for one call of Calendar.createSchedule
+public class SchedulingStats {
+
+	private final long mergeNanos;
+	private final long fillNanos;
+	private final long totalNanos;
+	private final int periodCount;
+	private final int eventCount;
+	private final int taskPartCount;
+	private final int periodSplitCount;
+	private final int taskPartSplitCount;
+	private final boolean successful;
+
+	SchedulingStats(long mergeNanos, long fillNanos, long totalNanos, int periodCount, int eventCount,
+					int taskPartCount, int periodSplitCount, int taskPartSplitCount, boolean successful) {
+		this.mergeNanos = mergeNanos;
+		this.fillNanos = fillNanos;
+		this.totalNanos = totalNanos;
+		this.periodCount = periodCount;
+		this.eventCount = eventCount;
+		this.taskPartCount = taskPartCount;
+		this.periodSplitCount = periodSplitCount;
+		this.taskPartSplitCount = taskPartSplitCount;
+		this.successful = successful;
+	}
+
+	// Time spent overwriting work periods by events
+	public Duration getMergeDuration() {
+		return Duration.ofNanos(mergeNanos);
+	}
+
+	// Time spent filling the overwritten periods with task parts
+	public Duration getFillDuration() {
+		return Duration.ofNanos(fillNanos);
+	}
+
+	public Duration getTotalDuration() {
+		return Duration.ofNanos(totalNanos);
+	}
+
+	// Work periods in the calendar
+	public int getPeriodCount() {
+		return periodCount;
+	}
+
+	// Events in the calendar
+	public int getEventCount() {
+		return eventCount;
+	}
+
+	// Task parts placed in the schedule
+	public int getTaskPartCount() {
+		return taskPartCount;
+	}
+
+	// Splits of work periods at event boundaries; an event in the middle of a period splits it twice
+	public int getPeriodSplitCount() {
+		return periodSplitCount;
+	}
+
+	// Times a task was split across work periods
+	public int getTaskPartSplitCount() {
+		return taskPartSplitCount;
+	}
+
+	public boolean isSuccessful() {
+		return successful;
+	}
+
+	@Override
+	public String toString() {
+		return "SchedulingStats{merge=" + getMergeDuration() + ", fill=" + getFillDuration() + ", total=" + getTotalDuration() +
+				", periods=" + periodCount + ", events=" + eventCount + ", taskParts=" + taskPartCount +
+				", periodSplits=" + periodSplitCount + ", taskPartSplits=" + taskPartSplitCount +
+				", successful=" + successful + "}";
+	}
+}
@@ -0,0 +1,27 @@
+package com.pluralsight.datetime;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+
+// An EventSource backed by a sorted array, which is never modified after construction
+final class SortedEventSource implements EventSource {
+
+	private final Event[] events;
+
+	SortedEventSource(Collection<Event> events) {
+		this.events = events.toArray(new Event[0]);
+		Arrays.sort(this.events);
+	}
+
+	@Override
+	public int size() {
+		return events.length;
+	}
+
+	@Override
+	public Iterator<Event> iterator() {
+		return Collections.unmodifiableList(Arrays.asList(events)).iterator();
+	}
+}
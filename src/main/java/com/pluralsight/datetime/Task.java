@@ -1,19 +1,47 @@
 package com.pluralsight.datetime;
 
 import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * A task to be scheduled. Each task has an id, unique within the running application, that identifies it
+ * to {@link Calendar#removeTask} and {@link Calendar#updateTask}. Tasks with the same id are equal, so an
+ * updated task still satisfies dependencies declared on the task it replaced.
+ * <p>
+ * A task may also be constrained to start no earlier than a given time, or to run unsplit within a window
+ * of each day; see {@link #notBefore} and {@link #between}. Tasks are immutable: these methods, like
+ * {@link #after}, return a copy, which the calendar methods of the same purpose put in place of the original.
+ */
 public class Task {
 
+	private static final AtomicLong NEXT_ID = new AtomicLong(1);
+
+	final private long id;
 	final private Duration duration;
 	final private String description;
-	final private List<TaskPart> taskParts;
+	final private List<Task> predecessors;
+	final private LocalDateTime earliestStart;
+	final private LocalTime windowStart;
+	final private LocalTime windowEnd;
 
 	public Task(Duration duration, String description) {
+		this(NEXT_ID.getAndIncrement(), duration, description, List.of(), null, null, null);
+	}
+
+	private Task(long id, Duration duration, String description, List<Task> predecessors,
+				 LocalDateTime earliestStart, LocalTime windowStart, LocalTime windowEnd) {
+		this.id = id;
 		this.duration = duration;
 		this.description = description;
-		taskParts = new ArrayList<>();
+		this.predecessors = predecessors;
+		this.earliestStart = earliestStart;
+		this.windowStart = windowStart;
+		this.windowEnd = windowEnd;
 	}
 
 	public Task(int hours, int minutes, String description) {
@@ -24,6 +52,10 @@ public class Task {
 		this(Duration.ofMinutes(minutes), description);
 	}
 
+	public long getId() {
+		return id;
+	}
+
 	public Duration getDuration() {
 		return duration;
 	}
@@ -32,13 +64,75 @@ public class Task {
 		return description;
 	}
 
-	TaskPart createTaskPart(Duration d) {
-		TaskPart t = new TaskPart(this, d, taskParts.size() + 1);
-		taskParts.add(t);
-		return t;
+	/**
+	 * This task, with the same id, declared not to start until the given tasks have finished. A task already
+	 * in a calendar is unchanged; use {@link Calendar#addTaskPredecessors} to give it predecessors there.
+	 */
+	public Task after(Task... tasks) {
+		List<Task> newPredecessors = new ArrayList<>(predecessors);
+		Collections.addAll(newPredecessors, tasks);
+		return new Task(id, duration, description, List.copyOf(newPredecessors), earliestStart, windowStart, windowEnd);
+	}
+
+	Task withoutPredecessor(Task predecessor) {
+		List<Task> newPredecessors = new ArrayList<>(predecessors);
+		newPredecessors.removeIf(predecessor::equals);
+		return new Task(id, duration, description, List.copyOf(newPredecessors), earliestStart, windowStart, windowEnd);
+	}
+
+	List<Task> getPredecessors() {
+		return predecessors;
+	}
+
+	// This task, with the same id, declared not to start before the given time; see Calendar.setTaskNotBefore
+	public Task notBefore(LocalDateTime earliestStart) {
+		return new Task(id, duration, description, predecessors, earliestStart, windowStart, windowEnd);
+	}
+
+	/**
+	 * This task, with the same id, declared to run without being split between the given times of a single
+	 * day, as with a task for mornings only; see {@link Calendar#setTaskWindow}. Within a work period, a task
+	 * starts where the task before it ends, so the task is placed in the first period where that point and
+	 * the task's end both fall inside the window.
+	 */
+	public Task between(LocalTime start, LocalTime end) {
+		if (!start.isBefore(end)) {
+			throw new IllegalArgumentException("Window start " + start + " must be before its end " + end);
+		}
+		return new Task(id, duration, description, predecessors, earliestStart, start, end);
+	}
+
+	LocalDateTime getEarliestStart() {
+		return earliestStart;
+	}
+
+	LocalTime getWindowStart() {
+		return windowStart;
+	}
+
+	LocalTime getWindowEnd() {
+		return windowEnd;
+	}
+
+	boolean isConstrained() {
+		return earliestStart != null || windowStart != null;
+	}
+
+	// This task with a new duration, the same id, predecessors and constraints
+	Task withDuration(Duration newDuration) {
+		return new Task(id, newDuration, description, predecessors, earliestStart, windowStart, windowEnd);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+
+		return id == ((Task) o).id;
 	}
 
-	int getTaskPartCount() {
-		return taskParts.size();
+	@Override
+	public int hashCode() {
+		return Long.hashCode(id);
 	}
 }
@@ -0,0 +1,130 @@
+package com.pluralsight.datetime;
+
+import java.util.*;
+
+import static java.util.stream.Collectors.joining;
+
+// Orders tasks so that every task follows its predecessors
+final class TaskGraph {
+
+	private TaskGraph() {
+	}
+
+	/**
+	 * Returns the tasks in an order in which each task comes after all of its predecessors, using Kahn's
+	 * algorithm with the ready tasks in a min-heap of their positions in the argument list, in
+	 * O((V + E) log V). Each task taken is the earliest in the list of those ready, so a task that becomes
+	 * ready goes ahead of ready tasks later in the list, and a list without dependencies is returned as it is.
+	 *
+	 * @throws IllegalArgumentException if a predecessor is not in the list, or the dependencies form a cycle
+	 */
+	static List<Task> topologicalOrder(List<Task> tasks) {
+		if (tasks.stream().allMatch(t -> t.getPredecessors().isEmpty())) {
+			return tasks;
+		}
+		int n = tasks.size();
+		Map<Task, Integer> indexes = new HashMap<>(n * 2);
+		for (int i = 0; i < n; i++) {
+			indexes.put(tasks.get(i), i);
+		}
+
+		// successor lists in compressed form: successors of i are successors[offsets[i]] .. successors[offsets[i+1]-1]
+		int[] inDegree = new int[n];
+		int[] offsets = new int[n + 1];
+		for (int i = 0; i < n; i++) {
+			for (Task predecessor : tasks.get(i).getPredecessors()) {
+				Integer p = indexes.get(predecessor);
+				if (p == null) {
+					throw new IllegalArgumentException("Predecessor " + describe(predecessor) + " of task " +
+							describe(tasks.get(i)) + " is not in the calendar");
+				}
+				offsets[p + 1]++;
+				inDegree[i]++;
+			}
+		}
+		for (int i = 0; i < n; i++) {
+			offsets[i + 1] += offsets[i];
+		}
+		int[] successors = new int[offsets[n]];
+		int[] fill = Arrays.copyOf(offsets, n);
+		for (int i = 0; i < n; i++) {
+			for (Task predecessor : tasks.get(i).getPredecessors()) {
+				successors[fill[indexes.get(predecessor)]++] = i;
+			}
+		}
+
+		// indexes in increasing order are already a valid heap
+		int[] ready = new int[n];
+		int readyCount = 0;
+		for (int i = 0; i < n; i++) {
+			if (inDegree[i] == 0) ready[readyCount++] = i;
+		}
+		List<Task> ordered = new ArrayList<>(n);
+		while (readyCount > 0) {
+			int t = ready[0];
+			ready[0] = ready[--readyCount];
+			siftDown(ready, readyCount);
+			ordered.add(tasks.get(t));
+			for (int s = offsets[t]; s < offsets[t + 1]; s++) {
+				if (--inDegree[successors[s]] == 0) siftUp(ready, readyCount++, successors[s]);
+			}
+		}
+		if (ordered.size() < n) {
+			throw new IllegalArgumentException("Task dependencies form a cycle: " + findCycle(tasks, indexes, inDegree));
+		}
+		return ordered;
+	}
+
+	private static void siftUp(int[] heap, int position, int value) {
+		while (position > 0) {
+			int parent = (position - 1) >>> 1;
+			if (heap[parent] <= value) break;
+			heap[position] = heap[parent];
+			position = parent;
+		}
+		heap[position] = value;
+	}
+
+	private static void siftDown(int[] heap, int size) {
+		if (size == 0) return;
+		int value = heap[0];
+		int position = 0;
+		for (int child = 1; child < size; child = 2 * position + 1) {
+			if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+			if (value <= heap[child]) break;
+			heap[position] = heap[child];
+			position = child;
+		}
+		heap[position] = value;
+	}
+
+	// Every task left with a positive in-degree has an unprocessed predecessor, so following those
+	// predecessors back must eventually revisit a task
+	private static String findCycle(List<Task> tasks, Map<Task, Integer> indexes, int[] inDegree) {
+		int start = 0;
+		while (inDegree[start] == 0) start++;
+		int[] visitedAt = new int[tasks.size()];
+		Arrays.fill(visitedAt, -1);
+		List<Integer> path = new ArrayList<>();
+		int current = start;
+		while (visitedAt[current] < 0) {
+			visitedAt[current] = path.size();
+			path.add(current);
+			for (Task predecessor : tasks.get(current).getPredecessors()) {
+				int p = indexes.get(predecessor);
+				if (inDegree[p] > 0) {
+					current = p;
+					break;
+				}
+			}
+		}
+		List<Integer> cycle = new ArrayList<>(path.subList(visitedAt[current], path.size()));
+		Collections.reverse(cycle);
+		cycle.add(cycle.get(0));
+		return cycle.stream().map(i -> describe(tasks.get(i))).collect(joining(" -> "));
+	}
+
+	private static String describe(Task task) {
+		return "\"" + task.getDescription() + "\"";
+	}
+}
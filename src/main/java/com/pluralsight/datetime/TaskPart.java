@@ -6,7 +6,7 @@ public class TaskPart {
 
 	final private Task owner;
 	final private int partSequenceNumber;
-	private Duration duration;
+	final private Duration duration;
 
 	public TaskPart(Task owner, Duration duration, int partSequenceNumber) {
 		this.owner = owner;
@@ -22,6 +22,10 @@ public class TaskPart {
 		return duration;
 	}
 
+	int getPartSequenceNumber() {
+		return partSequenceNumber;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
@@ -42,19 +46,36 @@ public class TaskPart {
 
 	@Override
 	public String toString() {
-		int taskPartCount = owner.getTaskPartCount();
-		return owner.getDescription() +
-				(taskPartCount != 1 ? "(" + partSequenceNumber + "/" + taskPartCount + ")" : "" ) +
-				", " + Utils.formatDuration(duration);
+		return toString(0);
+	}
+
+	// taskPartCount is the number of parts the owning task was divided into, or 0 if not known
+	String toString(int taskPartCount) {
+		String sequence;
+		if (taskPartCount == 0) {
+			sequence = partSequenceNumber != 1 ? "(" + partSequenceNumber + ")" : "";
+		} else {
+			sequence = taskPartCount != 1 ? "(" + partSequenceNumber + "/" + taskPartCount + ")" : "";
+		}
+		return owner.getDescription() + sequence + ", " + Utils.formatDuration(duration);
 	}
 
 	public static TaskPart wholeOf(Task t) {
-		return t.createTaskPart(t.getDuration());
+		return new TaskPart(t, t.getDuration(), 1);
+	}
+
+	// The first beforeSplitDuration of this part
+	public TaskPart before(Duration beforeSplitDuration) {
+		return new TaskPart(owner, beforeSplitDuration, partSequenceNumber);
+	}
+
+	// The remainder of this part after its first beforeSplitDuration, numbered as the following part
+	public TaskPart after(Duration beforeSplitDuration) {
+		return new TaskPart(owner, duration.minus(beforeSplitDuration), partSequenceNumber + 1);
 	}
 
-	public TaskPart split(Duration beforeSplitDuration) {
-		TaskPart tp2 = getOwner().createTaskPart(getDuration().minus(beforeSplitDuration));
-		duration = beforeSplitDuration;
-		return tp2;
+	// The remainder of this part after its first beforeSplitDuration, shown as a continuation of this part
+	TaskPart continuedAfter(Duration beforeSplitDuration) {
+		return new TaskPart(owner, duration.minus(beforeSplitDuration), partSequenceNumber);
 	}
 }
@@ -0,0 +1,147 @@
+package com.pluralsight.datetime;
+
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel holding timers due at whole-numbered ticks. Each level has 64 slots, each slot
+ * covering 64 times as many ticks as a slot of the level below; a timer is placed by the distance to its
+ * deadline, so inserting and cancelling a timer are O(1). As time advances, the slot of a higher level is
+ * emptied into the levels below when its range comes round, so each timer is moved at most once per level.
+ * Not thread-safe.
+ */
+final class TimingWheel<T> {
+
+	private static final int SLOT_BITS = 6;
+	private static final int SLOTS = 1 << SLOT_BITS;
+	private static final int LEVELS = 7;    // covers 2^42 ticks; later deadlines wait in the top level
+
+	static final class Timer<T> {
+		final long deadline;
+		final T payload;
+		private Timer<T> previous;
+		private Timer<T> next;
+		private Slot<T> slot;
+
+		private Timer(long deadline, T payload) {
+			this.deadline = deadline;
+			this.payload = payload;
+		}
+	}
+
+	// A doubly-linked list of timers, kept in insertion order
+	private static final class Slot<T> {
+		Timer<T> head;
+		Timer<T> tail;
+
+		void append(Timer<T> t) {
+			t.slot = this;
+			t.previous = tail;
+			t.next = null;
+			if (tail == null) head = t; else tail.next = t;
+			tail = t;
+		}
+
+		void unlink(Timer<T> t) {
+			if (t.previous == null) head = t.next; else t.previous.next = t.next;
+			if (t.next == null) tail = t.previous; else t.next.previous = t.previous;
+			t.previous = t.next = null;
+			t.slot = null;
+		}
+
+		Timer<T> takeAll() {
+			Timer<T> first = head;
+			head = tail = null;
+			return first;
+		}
+	}
+
+	private final Slot<T>[][] wheels;
+	private long currentTick;
+	private int size;
+
+	@SuppressWarnings("unchecked")
+	TimingWheel(long startTick) {
+		wheels = (Slot<T>[][]) new Slot<?>[LEVELS][SLOTS];
+		for (Slot<T>[] wheel : wheels) {
+			for (int i = 0; i < SLOTS; i++) wheel[i] = new Slot<>();
+		}
+		currentTick = startTick;
+	}
+
+	long getCurrentTick() {
+		return currentTick;
+	}
+
+	int size() {
+		return size;
+	}
+
+	// A deadline not after the current tick is treated as due at the next one
+	Timer<T> schedule(long deadline, T payload) {
+		Timer<T> t = new Timer<>(deadline, payload);
+		place(t, currentTick + 1);
+		size++;
+		return t;
+	}
+
+	// Has no effect if the timer has already expired or been cancelled
+	void cancel(Timer<T> t) {
+		if (t.slot == null) return;
+		t.slot.unlink(t);
+		size--;
+	}
+
+	// Moves time forward to tick, passing each timer that falls due to expired in deadline order
+	void advanceTo(long tick, Consumer<? super T> expired) {
+		while (currentTick < tick) {
+			if (size == 0) {
+				currentTick = tick;
+				return;
+			}
+			currentTick++;
+			// Higher levels first, as each may refill the slot about to be emptied from the level below
+			int top = 0;
+			while (top < LEVELS - 1 && (currentTick & mask(top + 1)) == 0) top++;
+			for (int level = top; level > 0; level--) {
+				cascade(wheels[level][slotIndex(currentTick, level)]);
+			}
+			Timer<T> t = wheels[0][slotIndex(currentTick, 0)].takeAll();
+			while (t != null) {
+				Timer<T> next = t.next;
+				t.previous = t.next = null;
+				t.slot = null;
+				size--;
+				expired.accept(t.payload);
+				t = next;
+			}
+		}
+	}
+
+	private void cascade(Slot<T> slot) {
+		Timer<T> t = slot.takeAll();
+		while (t != null) {
+			Timer<T> next = t.next;
+			place(t, currentTick);
+			t = next;
+		}
+	}
+
+	private void place(Timer<T> t, long earliest) {
+		long deadline = Math.max(t.deadline, earliest);
+		long delta = deadline - currentTick;
+		int level = 0;
+		while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) level++;
+		if (level == LEVELS - 1 && delta >= 1L << (SLOT_BITS * LEVELS)) {
+			deadline = currentTick + (1L << (SLOT_BITS * LEVELS)) - 1;
+		}
+		wheels[level][slotIndex(deadline, level)].append(t);
+	}
+
+	private static long mask(int level) {
+		return (1L << (SLOT_BITS * level)) - 1;
+	}
+
+	private static int slotIndex(long tick, int level) {
+		return (int) (tick >>> (SLOT_BITS * level)) & (SLOTS - 1);
+	}
+}
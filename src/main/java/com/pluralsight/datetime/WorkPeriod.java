@@ -12,22 +12,27 @@ import java.util.*;
 
 import static java.time.temporal.ChronoUnit.DAYS;
 
+/**
+ * An immutable period of working time, with the task parts allocated to it. Splitting a period returns
+ * new periods and leaves the original untouched, so periods can be shared freely between calendars
+ * and schedules.
+ */
 public class WorkPeriod implements Comparable<WorkPeriod> {
 
-	private LocalDateTime startTime;
-	private LocalDateTime endTime;
-	private List<TaskPart> taskParts;
+	private final LocalDateTime startTime;
+	private final LocalDateTime endTime;
+	private final List<TaskPart> taskParts;
 
 	static final Duration MINIMUM_DURATION = Duration.ofMinutes(5);
 
 	WorkPeriod(LocalDateTime startTime, LocalDateTime endTime) throws IllegalArgumentException {
-		this(startTime, endTime, new ArrayList<>());
+		this(startTime, endTime, Collections.emptyList());
 	}
 
 	public WorkPeriod(LocalDateTime startTime, LocalDateTime endTime, List<TaskPart> taskParts) {
 		this.startTime = startTime;
 		this.endTime = endTime;
-		this.taskParts = taskParts;
+		this.taskParts = Collections.unmodifiableList(taskParts);
 		validatePeriodTimes(startTime, endTime);
 	}
 
@@ -58,11 +63,16 @@ public class WorkPeriod implements Comparable<WorkPeriod> {
 
 	@Override
 	public String toString() {
+		return toString(Collections.emptyMap());
+	}
+
+	// partCounts gives the number of parts each task was divided into, where known
+	String toString(Map<Task, Integer> partCounts) {
 		DateTimeFormatter timeFormatter= DateTimeFormatter.ofLocalizedTime(FormatStyle.SHORT);
 		String workPeriodHeader = "\n\tWork Period: " + timeFormatter.format(startTime) + " to " + timeFormatter.format(endTime);
 		StringBuilder sb = new StringBuilder(workPeriodHeader);
 		for (TaskPart t : taskParts) {
-			sb.append("\n\t\t").append(t);
+			sb.append("\n\t\t").append(t.toString(partCounts.getOrDefault(t.getOwner(), 0)));
 		}
 		return sb.toString();
 	}
@@ -71,48 +81,55 @@ public class WorkPeriod implements Comparable<WorkPeriod> {
 		return taskParts;
 	}
 
-	void setTaskParts(List<TaskPart> taskParts) {
-		this.taskParts = taskParts;
+	WorkPeriod withTaskParts(List<TaskPart> taskParts) {
+		return new WorkPeriod(startTime, endTime, taskParts);
 	}
 
-	public Optional<WorkPeriod> split(LocalDateTime splitTime) {
-		if ((startTime.isBefore(splitTime) && ! splitTime.isAfter(endTime))) {
-			WorkPeriod newPeriod = new WorkPeriod(startTime, splitTime);
-			startTime = splitTime;
-			if (!taskParts.isEmpty()) {
-				NavigableMap<LocalDateTime, TaskPart> timeToTaskPartMap = new TreeMap<>();
-				LocalDateTime taskStartTime = newPeriod.getStartTime();
-				for (TaskPart taskPart : taskParts) {
-					timeToTaskPartMap.put(taskStartTime, taskPart);
-					taskStartTime = taskStartTime.plus(taskPart.getDuration());
-				}
-				newPeriod.setTaskParts(new ArrayList<>(timeToTaskPartMap.headMap(splitTime).values()));
-				setTaskParts(new ArrayList<>(timeToTaskPartMap.tailMap(splitTime).values()));
-
-				Map.Entry<LocalDateTime, TaskPart> taskPartEntry = timeToTaskPartMap.lowerEntry(splitTime);
-				TaskPart partToSplit = taskPartEntry.getValue();
-				LocalDateTime partStartTime = taskPartEntry.getKey();
-				Duration partDuration = partToSplit.getDuration();
-				if (splitTime.isAfter(partStartTime) && partStartTime.plus(partDuration).isAfter(splitTime)) {
+	/**
+	 * Divides this period at splitTime, which must be after its start and not after its end. Task parts are
+	 * laid out back to back from the start of the period; a part running across splitTime is itself split.
+	 * Parts that do not fit before splitTime, including any overflowing the end of the period, go to the
+	 * second half.
+	 */
+	public Optional<Split> split(LocalDateTime splitTime) {
+		return split(splitTime, true);
+	}
+
+	// If renumber is false, a task part split in two is shown as one part running across splitTime
+	private Optional<Split> split(LocalDateTime splitTime, boolean renumber) {
+		if (!startTime.isBefore(splitTime) || splitTime.isAfter(endTime)) {
+			return Optional.empty();
+		}
+		List<TaskPart> partsBefore = new ArrayList<>();
+		List<TaskPart> partsAfter = new ArrayList<>();
+		LocalDateTime partStartTime = startTime;
+		for (TaskPart taskPart : taskParts) {
+			if (!partStartTime.isBefore(splitTime)) {
+				partsAfter.add(taskPart);
+			} else {
+				LocalDateTime partEndTime = partStartTime.plus(taskPart.getDuration());
+				if (partEndTime.isAfter(splitTime)) {
 					// TODO doesn't allow for DST changes during WorkPeriod being split
-					TaskPart newTaskPart = partToSplit.split(Duration.between(partStartTime, splitTime));
-					getTaskParts().add(0, newTaskPart);
+					Duration beforeSplitDuration = Duration.between(partStartTime, splitTime);
+					partsBefore.add(taskPart.before(beforeSplitDuration));
+					partsAfter.add(renumber ? taskPart.after(beforeSplitDuration) : taskPart.continuedAfter(beforeSplitDuration));
+				} else {
+					partsBefore.add(taskPart);
 				}
+				partStartTime = partEndTime;
 			}
-			return Optional.of(newPeriod);
-		} else {
-			return Optional.empty();
 		}
-	}
-
-	void addTaskPart(TaskPart taskPart) {
-		taskParts.add(taskPart);
+		return Optional.of(new Split(new WorkPeriod(startTime, splitTime, partsBefore),
+				new WorkPeriod(splitTime, endTime, partsAfter)));
 	}
 
 	// Convenience method to assist displaying a schedule by the day
-	Optional<WorkPeriod> split() {
+	List<WorkPeriod> splitByMidnight() {
 		LocalDateTime midnight = startTime.plusDays(1).truncatedTo(DAYS);
-		return split(midnight);
+		return split(midnight, false)
+				.filter(s -> s.getAfter().getStartTime().isBefore(s.getAfter().getEndTime()))
+				.map(s -> List.of(s.getBefore(), s.getAfter()))
+				.orElse(List.of(this));
 	}
 
 	@Override
@@ -126,12 +143,6 @@ public class WorkPeriod implements Comparable<WorkPeriod> {
 				.reduce(Duration.ZERO, Duration::plus);
 	}
 
-	public static WorkPeriod copy(WorkPeriod original) {
-		WorkPeriod newPeriod = new WorkPeriod(original.startTime, original.endTime);
-		newPeriod.setTaskParts(original.getTaskParts());
-		return newPeriod;
-	}
-
 	public Interval toInterval(ZoneId zone) {
 		return Interval.of(ZonedDateTime.of(startTime, zone).toInstant(), ZonedDateTime.of(endTime, zone).toInstant());
 	}
@@ -153,40 +164,24 @@ public class WorkPeriod implements Comparable<WorkPeriod> {
 		result = 31 * result + taskParts.hashCode();
 		return result;
 	}
-}
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
 
+	// The two halves of a split WorkPeriod
+	public static final class Split {
 
+		private final WorkPeriod before;
+		private final WorkPeriod after;
 
+		private Split(WorkPeriod before, WorkPeriod after) {
+			this.before = before;
+			this.after = after;
+		}
 
+		public WorkPeriod getBefore() {
+			return before;
+		}
 
+		public WorkPeriod getAfter() {
+			return after;
+		}
+	}
+}
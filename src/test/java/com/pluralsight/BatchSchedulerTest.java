@@ -0,0 +1,56 @@
+package com.pluralsight;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.Instant;
+
+import static org.junit.Assert.assertEquals;
+
+public class BatchSchedulerTest {
+
+    private static final String INPUT = String.join("\n",
+            "# two calendars",
+            "calendar alice Europe/London",
+            "period 2030-01-07T09:00 2030-01-07T12:30",
+            "event 2030-01-07T09:00 PT30M standup",
+            "task PT1H write report",
+            "end",
+            "",
+            "calendar bob UTC",
+            "task PT1H no time for this",
+            "end");
+
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void testSchedulesWrittenInInputOrder() throws Exception {
+        StringWriter out = new StringWriter();
+        BatchScheduler scheduler = new BatchScheduler(4, 1, Instant.parse("2030-01-07T00:00:00Z"));
+
+        long count = scheduler.run(new BufferedReader(new StringReader(INPUT)), out);
+
+        assertEquals(2, count);
+        assertEquals(String.join("\n",
+                "== alice",
+                "2030-01-07",
+                "\tstandup: 9:00 AM, duration = 30mins",
+                "\tWork Period: 9:30 AM to 12:30 PM",
+                "\t\twrite report, 1hr 0mins",
+                "== bob",
+                "Schedule unsuccessful: insufficent time for tasks",
+                ""), out.toString());
+    }
+
+    @Test
+    public void testParseErrorReportsLine() throws Exception {
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("line 3: unknown line type 'meeting'");
+        new BatchScheduler(1, 1, null).run(new BufferedReader(new StringReader("calendar x UTC\n\nmeeting\nend\n")), new StringWriter());
+    }
+}
@@ -0,0 +1,55 @@
+package com.pluralsight;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class CalendarReaderTest {
+
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void testDefinitionRead() throws IOException {
+        CalendarReader reader = reader("calendar a UTC\nperiod 2030-01-07T09:00 2030-01-07T12:30\ntask PT1H report\nend\n");
+
+        CalendarReader.CalendarDefinition definition = reader.next();
+
+        assertEquals("a", definition.getName());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testMissingFieldsReportedOnce() throws IOException {
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage(is("line 2: expected 'period <start> <end>'"));
+        reader("calendar a UTC\nperiod 2030-01-07T09:00\nend\n").next();
+    }
+
+    @Test
+    public void testUnknownLineTypeReportedOnce() throws IOException {
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage(is("line 2: unknown line type 'foo'"));
+        reader("calendar a UTC\nfoo\nend\n").next();
+    }
+
+    @Test
+    public void testCalendarRejectionReportedWithLine() throws IOException {
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage(is("line 3: Work Periods cannot overlap: "
+                + "\n\tWork Period: 9:00 AM to 12:30 PM,\n\tWork Period: 10:00 AM to 11:00 AM"));
+        reader("calendar a UTC\nperiod 2030-01-07T09:00 2030-01-07T12:30\nperiod 2030-01-07T10:00 2030-01-07T11:00\nend\n").next();
+    }
+
+    private static CalendarReader reader(String input) {
+        return new CalendarReader(new BufferedReader(new StringReader(input)));
+    }
+}
@@ -0,0 +1,59 @@
+package com.pluralsight;
+
+import com.pluralsight.datetime.Calendar;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Measures the throughput of {@link IcsImporter} on a generated file of 500,000 events, a quarter of them
+ * with a TZID and a few repeating, as an export from a large shared calendar might be.
+ */
+public class IcsImportBenchmark {
+
+    private static final int EVENTS = 500_000;
+
+    public static void main(String[] args) throws IOException {
+        Path file = Files.createTempFile("benchmark", ".ics");
+        file.toFile().deleteOnExit();
+        writeIcs(file);
+        long bytes = Files.size(file);
+        ZoneId zone = ZoneId.of("Europe/London");
+        IcsImporter importer = new IcsImporter(zone, Instant.parse("2040-01-01T00:00:00Z"));
+
+        for (int round = 0; round < 3; round++) {  // the first rounds are warm-up
+            long t0 = System.nanoTime();
+            long count = importer.importFile(file, new Calendar());
+            long nanos = System.nanoTime() - t0;
+            System.out.printf("round %d: %,d events from %,d MB in %,d ms: %,d events/s, %,d MB/s%n", round, count,
+                    bytes >> 20, nanos / 1_000_000, count * 1_000_000_000L / nanos, (bytes >> 20) * 1_000_000_000L / nanos);
+        }
+    }
+
+    private static void writeIcs(Path file) throws IOException {
+        DateTimeFormatter format = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+        LocalDateTime start = LocalDate.of(2030, 1, 1).atTime(8, 0);
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write("BEGIN:VCALENDAR\r\nVERSION:2.0\r\nPRODID:-//benchmark//EN\r\n");
+            for (int i = 0; i < EVENTS; i++) {
+                LocalDateTime eventStart = start.plusMinutes(37L * i);
+                out.write("BEGIN:VEVENT\r\nUID:event-" + i + "@example.com\r\n");
+                if (i % 4 == 0) {
+                    out.write("DTSTART;TZID=America/New_York:" + format.format(eventStart) + "\r\n");
+                    out.write("DURATION:PT30M\r\n");
+                } else {
+                    out.write("DTSTART:" + format.format(eventStart) + "Z\r\n");
+                    out.write("DTEND:" + format.format(eventStart.plusMinutes(30)) + "Z\r\n");
+                }
+                if (i % 10_000 == 0) out.write("RRULE:FREQ=WEEKLY;BYDAY=MO,WE;COUNT=50\r\n");
+                out.write("SUMMARY:Meeting " + i + " about a fairly long subject that needs folding onto a second\r\n");
+                out.write(" line of the file\r\nDESCRIPTION:Agenda item\\, notes\r\nEND:VEVENT\r\n");
+            }
+            out.write("END:VCALENDAR\r\n");
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.pluralsight;
+
+import com.pluralsight.datetime.Calendar;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.*;
+
+import static org.junit.Assert.assertEquals;
+
+public class IcsImporterTest {
+
+    private static final ZoneId LONDON = ZoneId.of("Europe/London");
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2030-01-07T00:00:00Z"), LONDON);
+
+    private final IcsImporter importer = new IcsImporter(LONDON, Instant.parse("2030-02-01T00:00:00Z"));
+
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void testSampleImported() throws Exception {
+        Calendar calendar = new Calendar();
+
+        long count = importer.importFile(Path.of(getClass().getResource("/sample.ics").toURI()), calendar);
+
+        // cancelled and free events are skipped; the two repeating events are each counted once
+        assertEquals(5, count);
+        assertEquals(String.join("\n", "",
+                "2030-01-07",
+                "\tWork Period: 9:00 AM to 9:30 AM",
+                "\tStandup: 9:30 AM, duration = 15mins",
+                "\tWork Period: 9:45 AM to 10:00 AM",
+                "\tDesign review: 10:00 AM, duration = 1hr 0mins",
+                "\tWork Period: 11:00 AM to 12:30 PM",
+                "2030-01-08",
+                "\tWork Period: 9:00 AM to 12:30 PM",
+                "\tCall with, New York office\nbring notes: 2:00 PM, duration = 30mins",
+                "\tRetrospective: 4:00 PM, duration = 1hr 0mins",
+                "2030-01-09",
+                "\tCompany holiday: 12:00 AM, duration = 24hrs 0mins",
+                "\tStandup: 9:30 AM, duration = 15mins",
+                "2030-01-10",
+                "\tCompany holiday: 12:00 AM, duration = 24hrs 0mins",
+                "2030-01-11",
+                "\tWork Period: 9:00 AM to 9:30 AM",
+                "\tStandup: 9:30 AM, duration = 15mins",
+                "\tWork Period: 9:45 AM to 12:30 PM",
+                "2030-01-14",
+                "\tStandup: 9:30 AM, duration = 15mins",
+                "2030-01-15",
+                "\tRetrospective: 4:00 PM, duration = 1hr 0mins",
+                "2030-01-16",
+                "\tStandup: 9:30 AM, duration = 15mins",
+                "2030-01-18",
+                "\tStandup: 9:30 AM, duration = 15mins",
+                "2030-01-22",
+                "\tRetrospective: 4:00 PM, duration = 1hr 0mins",
+                "2030-01-29",
+                "\tRetrospective: 4:00 PM, duration = 1hr 0mins"), calendar.createSchedule(CLOCK).toString());
+    }
+
+    @Test
+    public void testUnsupportedRuleReportedWithLine() throws Exception {
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("line 5: Unsupported recurrence rule part: BYMONTHDAY");
+
+        importString(String.join("\r\n",
+                "BEGIN:VCALENDAR",
+                "BEGIN:VEVENT",
+                "DTSTART:20300107T100000Z",
+                "DTEND:20300107T110000Z",
+                "RRULE:FREQ=WEEKLY;BYMONTHDAY=1",
+                "END:VEVENT",
+                "END:VCALENDAR"));
+    }
+
+    @Test
+    public void testUnterminatedComponentRejected() throws Exception {
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("missing END:VEVENT");
+
+        importString(String.join("\r\n",
+                "BEGIN:VCALENDAR",
+                "BEGIN:VEVENT",
+                "DTSTART:20300107T100000Z"));
+    }
+
+    private void importString(String ics) throws Exception {
+        byte[] bytes = ics.getBytes(StandardCharsets.UTF_8);
+        importer.importFrom(Channels.newChannel(new ByteArrayInputStream(bytes)), new Calendar());
+    }
+}
@@ -0,0 +1,200 @@
+package com.pluralsight.datetime;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.time.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class BackgroundReschedulerTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    private final ZoneId zone = ZoneId.of("Europe/London");
+    private final LocalDate startDate = LocalDate.of(2030, 1, 7);
+    private final Clock clock = Mockito.mock(Clock.class);
+    private final ScheduledExecutorService executor = Mockito.mock(ScheduledExecutorService.class);
+    private final ScheduledFuture<?> future = Mockito.mock(ScheduledFuture.class);
+    private final List<Schedule> built = new ArrayList<>();
+    private Instant currentTime;
+    private Calendar calendar;
+    private BackgroundRescheduler rescheduler;
+
+    @Before
+    public void setup() {
+        currentTime = startDate.atStartOfDay(zone).toInstant();
+        when(clock.instant()).thenAnswer(invocation -> currentTime);
+        when(clock.getZone()).thenReturn(zone);
+        doReturn(future).when(executor).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+
+        calendar = new Calendar().addWorkPeriods(Utils.generateWorkPeriods(startDate, 5));
+        rescheduler = new BackgroundRescheduler(calendar, clock, executor, Duration.ofMillis(200), Duration.ofSeconds(2))
+                .addScheduleListener(built::add);
+    }
+
+    @Test
+    public void testBurstOfChangesBuildsOnce() {
+        for (int i = 0; i < 1000; i++) {
+            calendar.addTask(new Task(Duration.ofMinutes(1), "task " + i));
+        }
+        verify(executor, times(1)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        Runnable check = scheduledCheck(200);
+
+        currentTime = currentTime.plusMillis(200);
+        check.run();
+
+        assertEquals(1, built.size());
+        assertEquals(1000, built.get(0).getScheduledPeriods().stream().mapToInt(p -> p.getTaskParts().size()).sum());
+        assertSame(built.get(0), rescheduler.getLatestSchedule());
+        verify(executor, times(1)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void testChangeDuringQuietPeriodDelaysBuild() {
+        calendar.addTask(new Task(Duration.ofHours(1), "a"));
+        Runnable check = scheduledCheck(200);
+
+        currentTime = currentTime.plusMillis(150);
+        calendar.addTask(new Task(Duration.ofHours(1), "b"));
+        currentTime = currentTime.plusMillis(50);
+        check.run();
+
+        assertTrue(built.isEmpty());
+        check = scheduledCheck(150);
+        currentTime = currentTime.plusMillis(150);
+        check.run();
+
+        assertEquals(1, built.size());
+        assertEquals(2, built.get(0).getScheduledPeriods().get(0).getTaskParts().size());
+    }
+
+    @Test
+    public void testContinuousChangesBuildAtMaxDelay() {
+        for (int i = 0; i < 20; i++) {
+            calendar.addTask(new Task(Duration.ofMinutes(1), "task " + i));
+            currentTime = currentTime.plusMillis(100);
+        }
+        Runnable check = scheduledCheck(200);
+
+        // changed 100ms ago, but the burst began 2s ago
+        check.run();
+
+        assertEquals(1, built.size());
+        assertEquals(20, built.get(0).getScheduledPeriods().get(0).getTaskParts().size());
+    }
+
+    @Test
+    public void testEarlyCheckWaitsForMaxDelay() {
+        calendar.addTask(new Task(Duration.ofMinutes(1), "first"));
+        currentTime = currentTime.plusMillis(1900);
+        calendar.addTask(new Task(Duration.ofMinutes(1), "second"));
+        currentTime = currentTime.plusMillis(50);
+        scheduledCheck(200).run();
+
+        assertTrue(built.isEmpty());
+        Runnable check = scheduledCheck(50);
+        currentTime = currentTime.plusMillis(50);
+        check.run();
+
+        assertEquals(1, built.size());
+    }
+
+    @Test
+    public void testLaterChangesStartNewBurst() {
+        calendar.addTask(new Task(Duration.ofHours(1), "a"));
+        currentTime = currentTime.plusMillis(200);
+        scheduledCheck(200).run();
+
+        calendar.addTask(new Task(Duration.ofHours(1), "b"));
+        currentTime = currentTime.plusMillis(200);
+        latestCheck().run();
+
+        assertEquals(2, built.size());
+        assertEquals(1, built.get(0).getScheduledPeriods().get(0).getTaskParts().size());
+        assertEquals(2, built.get(1).getScheduledPeriods().get(0).getTaskParts().size());
+    }
+
+    @Test
+    public void testBuildUsesSnapshotOfLastChange() {
+        calendar.addTask(new Task(Duration.ofHours(1), "a"));
+        Runnable check = scheduledCheck(200);
+        Calendar unrelated = calendar.fork().addTask(new Task(Duration.ofHours(1), "only in fork"));
+
+        currentTime = currentTime.plusMillis(200);
+        check.run();
+
+        assertEquals(1, built.size());
+        assertEquals(1, built.get(0).getScheduledPeriods().get(0).getTaskParts().size());
+        assertEquals(2, unrelated.createSchedule(clock).getScheduledPeriods().get(0).getTaskParts().size());
+    }
+
+    @Test
+    public void testOlderBuildFinishingLaterNotPublished() {
+        boolean[] overtaken = { false };
+        // runs the next burst's build to completion while the first build is finishing, as a second
+        // executor thread could
+        calendar.setSchedulingListener(stats -> {
+            if (overtaken[0]) return;
+            overtaken[0] = true;
+            calendar.addTask(new Task(Duration.ofHours(1), "b"));
+            currentTime = currentTime.plusMillis(200);
+            latestCheck().run();
+        });
+        calendar.addTask(new Task(Duration.ofHours(1), "a"));
+        currentTime = currentTime.plusMillis(200);
+        scheduledCheck(200).run();
+
+        assertEquals(1, built.size());
+        assertSame(built.get(0), rescheduler.getLatestSchedule());
+        assertEquals(2, built.get(0).getScheduledPeriods().get(0).getTaskParts().size());
+    }
+
+    @Test
+    public void testCloseCancelsPendingBuild() {
+        calendar.addTask(new Task(Duration.ofHours(1), "a"));
+        Runnable check = scheduledCheck(200);
+
+        rescheduler.close();
+        calendar.addTask(new Task(Duration.ofHours(1), "b"));
+        currentTime = currentTime.plusMillis(200);
+        check.run();
+
+        verify(future).cancel(false);
+        assertTrue(built.isEmpty());
+        assertNull(rescheduler.getLatestSchedule());
+    }
+
+    @Test
+    public void testMaxDelayShorterThanQuietPeriod() {
+        thrown.expect(IllegalArgumentException.class);
+        new BackgroundRescheduler(calendar, clock, executor, Duration.ofSeconds(2), Duration.ofSeconds(1));
+    }
+
+    // The check scheduled most recently, which must have been for the given delay
+    private Runnable scheduledCheck(long delayMillis) {
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor, atLeastOnce()).schedule(captor.capture(), eq(TimeUnit.MILLISECONDS.toNanos(delayMillis)), eq(TimeUnit.NANOSECONDS));
+        return captor.getValue();
+    }
+
+    private Runnable latestCheck() {
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor, atLeastOnce()).schedule(captor.capture(), anyLong(), any(TimeUnit.class));
+        return captor.getValue();
+    }
+}
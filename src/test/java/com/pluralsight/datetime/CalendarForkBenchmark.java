@@ -0,0 +1,60 @@
+package com.pluralsight.datetime;
+
+import java.time.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Compares the cost of a what-if copy of a large calendar made by {@link Calendar#fork()} with a deep copy
+ * into fresh TreeSets, as callers had to do before. Run with a fixed heap, e.g. -Xms2g -Xmx2g.
+ */
+public class CalendarForkBenchmark {
+
+    private static final int DAYS = 20_000;
+    private static final int FORKS = 1_000;
+
+    public static void main(String[] args) {
+        ZoneId zone = ZoneOffset.UTC;
+        LocalDate start = LocalDate.of(2030, 1, 1);
+        List<WorkPeriod> periods = Utils.generateWorkPeriods(start, DAYS);
+        List<Event> events = Utils.generateStandups(start.atTime(9, 30), DAYS, Duration.ofMinutes(15), zone);
+        Calendar calendar = new Calendar().addWorkPeriods(periods);
+        events.forEach(calendar::addEvent);
+        Event whatIf = new Event(ZonedDateTime.of(start.atTime(14, 0), zone), Duration.ofHours(1), "what-if");
+
+        Runtime runtime = Runtime.getRuntime();
+        List<Object> retained = new ArrayList<>();
+
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+        long t0 = System.nanoTime();
+        for (int i = 0; i < FORKS; i++) {
+            retained.add(calendar.fork().addEvent(whatIf));
+        }
+        long forkNanos = System.nanoTime() - t0;
+        System.gc();
+        long forkBytes = runtime.totalMemory() - runtime.freeMemory() - before;
+        retained.clear();
+
+        System.gc();
+        before = runtime.totalMemory() - runtime.freeMemory();
+        t0 = System.nanoTime();
+        for (int i = 0; i < FORKS / 10; i++) {
+            TreeSet<WorkPeriod> periodCopy = new TreeSet<>();
+            periods.forEach(p -> periodCopy.add(new WorkPeriod(p.getStartTime(), p.getEndTime(), p.getTaskParts())));
+            TreeSet<Event> eventCopy = new TreeSet<>();
+            events.forEach(e -> eventCopy.add(Event.of(e.getLocalStartDateTime(zone).atZone(zone),
+                    e.getLocalEndDateTime(zone).atZone(zone), "standup")));
+            eventCopy.add(whatIf);
+            retained.add(periodCopy);
+            retained.add(eventCopy);
+        }
+        long copyNanos = (System.nanoTime() - t0) * 10;
+        System.gc();
+        long copyBytes = (runtime.totalMemory() - runtime.freeMemory() - before) * 10;
+
+        System.out.printf("fork:      %,d ns/op, %,d bytes/op%n", forkNanos / FORKS, forkBytes / FORKS);
+        System.out.printf("deep copy: %,d ns/op, %,d bytes/op%n", copyNanos / FORKS, copyBytes / FORKS);
+    }
+}
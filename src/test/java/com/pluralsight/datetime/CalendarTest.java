@@ -191,4 +191,151 @@ public class CalendarTest {
         exception.expectMessage(StringEndsWith.endsWith(newPeriod.toString()));
         calendar.addWorkPeriod(newPeriod);
     }
+
+    @Test
+    public void testForkLeavesOriginalUnchanged() {
+        calendar.addTask(t20mins);
+        calendar.addWorkPeriod(p30mins);
+
+        Calendar whatIf = calendar.fork();
+        whatIf.addTask(t30mins);
+        whatIf.addEvent(ZonedDateTime.of(localSchedStart.plusMinutes(60), clock.getZone()), Duration.ofMinutes(10), "meeting");
+
+        assertFalse(whatIf.createSchedule(clock).isSuccessful());
+        List<WorkPeriod> scheduledPeriods = calendar.createSchedule(clock).getScheduledPeriods();
+        assertEquals(1, scheduledPeriods.size());
+        assertEquals(p30mins.getStartTime(), scheduledPeriods.get(0).getStartTime());
+        assertEquals(1, scheduledPeriods.get(0).getTaskParts().size());
+    }
+
+    @Test
+    public void testRepeatedSchedulesIdentical() {
+        calendar.addTask(t60mins);
+        calendar.addWorkPeriod(p20mins);
+        calendar.addWorkPeriod(p60mins);
+
+        Schedule first = calendar.createSchedule(clock);
+        Schedule second = calendar.createSchedule(clock);
+
+        assertEquals(first.getScheduledPeriods(), second.getScheduledPeriods());
+        assertEquals(first.toString(), second.toString());
+        assertTrue(p20mins.getTaskParts().isEmpty());
+    }
+
+    @Test
+    public void testTaskStartsAfterPredecessor() {
+        calendar.addTask(t20mins.after(t60mins));
+        calendar.addTask(t60mins);
+        calendar.addWorkPeriod(p20mins);
+        calendar.addWorkPeriod(p60mins);
+
+        List<WorkPeriod> schedule = calendar.createSchedule(clock).getScheduledPeriods();
+
+        assertEquals(t60mins, schedule.get(0).getTaskParts().get(0).getOwner());
+        List<TaskPart> taskParts = schedule.get(1).getTaskParts();
+        assertEquals(t60mins, taskParts.get(0).getOwner());
+        assertEquals(Duration.ofMinutes(40), taskParts.get(0).getDuration());
+        assertEquals(t20mins, taskParts.get(1).getOwner());
+    }
+
+    @Test
+    public void testPredecessorAddedInCalendarNotInFork() {
+        calendar.addTask(t20mins);
+        calendar.addTask(t60mins);
+        calendar.addWorkPeriod(p20mins);
+        calendar.addWorkPeriod(p60mins);
+        Calendar whatIf = calendar.fork();
+        long version = calendar.getVersion();
+
+        calendar.addTaskPredecessors(t20mins.getId(), t60mins);
+
+        assertEquals(version + 1, calendar.getVersion());
+        assertTrue(t20mins.getPredecessors().isEmpty());
+        assertEquals(t60mins, calendar.createSchedule(clock).getScheduledPeriods().get(0).getTaskParts().get(0).getOwner());
+        assertEquals(t20mins, whatIf.createSchedule(clock).getScheduledPeriods().get(0).getTaskParts().get(0).getOwner());
+    }
+
+    @Test
+    public void testRemovingPredecessorFreesDependents() {
+        calendar.addTask(t60mins);
+        calendar.addTask(t20mins.after(t60mins));
+        calendar.addWorkPeriod(p60mins);
+        Calendar whatIf = calendar.fork();
+
+        calendar.removeTask(t60mins.getId());
+        List<TaskPart> taskParts = calendar.createSchedule(clock).getScheduledPeriods().get(0).getTaskParts();
+
+        assertEquals(1, taskParts.size());
+        assertEquals(t20mins, taskParts.get(0).getOwner());
+        assertTrue(taskParts.get(0).getOwner().getPredecessors().isEmpty());
+        assertEquals(t60mins, whatIf.createSchedule(clock).getScheduledPeriods().get(0).getTaskParts().get(0).getOwner());
+    }
+
+    @Test
+    public void testDependencyCycleRejected() {
+        calendar.addTask(t20mins.after(t30mins));
+        calendar.addTask(t30mins.after(t20mins));
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage(StringStartsWith.startsWith("Task dependencies form a cycle:"));
+        calendar.createSchedule(clock);
+    }
+
+    @Test
+    public void testRemoveAndUpdateTask() {
+        calendar.addTask(t60mins);
+        calendar.addTask(t20mins.after(t60mins));
+        calendar.addTask(t30mins);
+        calendar.addWorkPeriod(p60mins);
+
+        calendar.removeTask(t30mins.getId());
+        calendar.updateTask(t60mins.getId(), Duration.ofMinutes(40));
+        List<TaskPart> taskParts = calendar.createSchedule(clock).getScheduledPeriods().get(0).getTaskParts();
+
+        assertEquals(2, taskParts.size());
+        assertEquals(t60mins, taskParts.get(0).getOwner());
+        assertEquals(Duration.ofMinutes(40), taskParts.get(0).getDuration());
+        assertEquals(t20mins, taskParts.get(1).getOwner());
+    }
+
+    @Test
+    public void testRemoveAndMoveEvent() {
+        ZonedDateTime periodStart = ZonedDateTime.of(p60mins.getStartTime(), clock.getZone());
+        Event first = new Event(periodStart, Duration.ofMinutes(10), "first");
+        Event second = new Event(periodStart, Duration.ofMinutes(20), "same start");
+        calendar.addEvent(first).addEvent(second);
+        calendar.addWorkPeriod(p60mins);
+
+        assertEquals(periodStart.plusMinutes(20).toLocalDateTime(), calendar.overwritePeriodsByEvents(clock.getZone()).get(0).getStartTime());
+        calendar.removeEvent(second.getId());
+        assertEquals(periodStart.plusMinutes(10).toLocalDateTime(), calendar.overwritePeriodsByEvents(clock.getZone()).get(0).getStartTime());
+        calendar.moveEvent(first.getId(), periodStart.plusMinutes(50));
+        List<WorkPeriod> periods = calendar.overwritePeriodsByEvents(clock.getZone());
+        assertEquals(1, periods.size());
+        assertEquals(periodStart.plusMinutes(50).toLocalDateTime(), periods.get(0).getEndTime());
+    }
+
+    @Test
+    public void testRemoveAndUpdateWorkPeriod() {
+        calendar.addWorkPeriod(p20mins);
+        calendar.addWorkPeriod(p60mins);
+
+        calendar.removeWorkPeriod(p20mins.getStartTime());
+        calendar.updateWorkPeriod(p60mins.getStartTime(), p60mins.getStartTime().plusMinutes(30));
+        List<WorkPeriod> periods = calendar.overwritePeriodsByEvents(clock.getZone());
+
+        assertEquals(1, periods.size());
+        assertEquals(p60mins.getStartTime().plusMinutes(30), periods.get(0).getEndTime());
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("No Work Period starts at " + p20mins.getStartTime());
+        calendar.removeWorkPeriod(p20mins.getStartTime());
+    }
+
+    @Test
+    public void testUpdatedWorkPeriodCannotOverlap() {
+        calendar.addWorkPeriod(p20mins);
+        calendar.addWorkPeriod(p60mins);
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage(StringStartsWith.startsWith("Work Periods cannot overlap:"));
+        calendar.updateWorkPeriod(p20mins.getStartTime(), p60mins.getStartTime().plusMinutes(1));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.pluralsight.datetime;
+
+import java.time.*;
+import java.util.Random;
+
+/**
+ * Times {@link Calendar#createSchedule} placing 10,000 tasks with earliest starts and morning-only windows
+ * over several years of work periods, against the same tasks without constraints, and placing 10,000
+ * morning-only tasks that fill the mornings one after another while the afternoons stay free.
+ */
+public class ConstrainedPlacementBenchmark {
+
+    private static final int DAYS = 3_000;
+    private static final int TASKS = 10_000;
+    private static final int REPEATS = 10;
+
+    public static void main(String[] args) {
+        ZoneId zone = ZoneId.of("Europe/London");
+        LocalDate startDate = LocalDate.of(2030, 1, 7);
+        Clock clock = Clock.fixed(startDate.atStartOfDay(zone).toInstant(), zone);
+
+        Calendar constrained = new Calendar().addWorkPeriods(Utils.generateWorkPeriods(startDate, DAYS));
+        Calendar unconstrained = new Calendar().addWorkPeriods(Utils.generateWorkPeriods(startDate, DAYS));
+        Calendar mornings = new Calendar().addWorkPeriods(Utils.generateWorkPeriods(startDate, 2 * DAYS));
+        Random random = new Random(7);
+        for (int i = 0; i < TASKS; i++) {
+            int minutes = 15 + random.nextInt(4) * 15;
+            Task t = new Task(minutes, "task " + i)
+                    .notBefore(startDate.plusDays(random.nextInt(1_000)).atTime(9 + random.nextInt(8), 0));
+            if (i % 2 == 0) t = t.between(LocalTime.of(9, 0), LocalTime.of(12, 30));
+            constrained.addTask(t);
+            unconstrained.addTask(new Task(minutes, "task " + i));
+            mornings.addTask(new Task(60, "task " + i).between(LocalTime.of(9, 0), LocalTime.of(12, 30)));
+        }
+
+        for (int round = 0; round < 3; round++) {  // the first rounds are warm-up
+            long t0 = System.nanoTime();
+            for (int i = 0; i < REPEATS; i++) constrained.createSchedule(clock);
+            long constrainedNanos = System.nanoTime() - t0;
+
+            t0 = System.nanoTime();
+            for (int i = 0; i < REPEATS; i++) unconstrained.createSchedule(clock);
+            long unconstrainedNanos = System.nanoTime() - t0;
+
+            t0 = System.nanoTime();
+            for (int i = 0; i < REPEATS; i++) mornings.createSchedule(clock);
+            long morningsNanos = System.nanoTime() - t0;
+
+            System.out.printf("round %d: constrained %,d us/schedule, unconstrained %,d us/schedule, dense mornings %,d us/schedule%n",
+                    round, constrainedNanos / REPEATS / 1000, unconstrainedNanos / REPEATS / 1000, morningsNanos / REPEATS / 1000);
+        }
+    }
+}
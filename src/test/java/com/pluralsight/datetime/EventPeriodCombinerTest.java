@@ -4,7 +4,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.time.*;
-import java.util.NavigableSet;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -28,7 +28,7 @@ public class EventPeriodCombinerTest {
     public void testNoWorkPeriods() {
         calendar.addEvent(Event.of(startZDateTime, startZDateTime.plusHours(1),""));
 
-        NavigableSet<WorkPeriod> combined = calendar.overwritePeriodsByEvents(clock.getZone());
+        List<WorkPeriod> combined = calendar.overwritePeriodsByEvents(clock.getZone());
 
         assertTrue(combined.isEmpty());
     }
@@ -38,10 +38,10 @@ public class EventPeriodCombinerTest {
         WorkPeriod p1 = new WorkPeriod(startLocalDate.atTime(1, 0), startLocalDate.atTime(2, 0));
         calendar.addWorkPeriod(p1);
 
-        NavigableSet<WorkPeriod> combined = calendar.overwritePeriodsByEvents(clock.getZone());
+        List<WorkPeriod> combined = calendar.overwritePeriodsByEvents(clock.getZone());
 
         assertEquals(1, combined.size());
-        WorkPeriod p2 = combined.first();
+        WorkPeriod p2 = combined.get(0);
         assertEquals(p2.getStartTime(), p1.getStartTime());
         assertEquals(p2.getEndTime(), p2.getEndTime());
     }
@@ -52,10 +52,10 @@ public class EventPeriodCombinerTest {
         WorkPeriod period = new WorkPeriod(startLocalDate.atTime(1, 0), startLocalDate.atTime(2, 0));
         calendar.addWorkPeriod(period);
 
-        NavigableSet<WorkPeriod> combined = calendar.overwritePeriodsByEvents(clock.getZone());
+        List<WorkPeriod> combined = calendar.overwritePeriodsByEvents(clock.getZone());
 
         assertEquals(1, combined.size());
-        WorkPeriod p = combined.first();
+        WorkPeriod p = combined.get(0);
         assertEquals(period.getStartTime(), p.getStartTime());
         assertEquals(period.getEndTime(), p.getEndTime());
     }
@@ -66,10 +66,10 @@ public class EventPeriodCombinerTest {
         WorkPeriod period = new WorkPeriod(startLocalDate.atTime(3, 0), startLocalDate.atTime(4, 0));
         calendar.addWorkPeriod(period);
 
-        NavigableSet<WorkPeriod> combined = calendar.overwritePeriodsByEvents(clock.getZone());
+        List<WorkPeriod> combined = calendar.overwritePeriodsByEvents(clock.getZone());
 
         assertEquals(1, combined.size());
-        WorkPeriod p = combined.first();
+        WorkPeriod p = combined.get(0);
         assertEquals(period.getStartTime(), p.getStartTime());
         assertEquals(period.getEndTime(), p.getEndTime());
     }
@@ -81,10 +81,10 @@ public class EventPeriodCombinerTest {
         WorkPeriod period = new WorkPeriod(startLocalDate.atTime(1, 0), startLocalDate.atTime(3, 0));
         calendar.addWorkPeriod(period);
 
-        NavigableSet<WorkPeriod> combined = calendar.overwritePeriodsByEvents(clock.getZone());
+        List<WorkPeriod> combined = calendar.overwritePeriodsByEvents(clock.getZone());
 
         assertEquals(1, combined.size());
-        WorkPeriod p = combined.first();
+        WorkPeriod p = combined.get(0);
         assertEquals(period.getStartTime(), p.getStartTime());
         assertEquals(startZDateTime.withHour(2).toLocalDateTime(), p.getEndTime());
     }
@@ -94,10 +94,10 @@ public class EventPeriodCombinerTest {
         calendar.addEvent(Event.of(startZDateTime.withHour(1), startZDateTime.withHour(3),""));
         calendar.addWorkPeriod(new WorkPeriod(startLocalDate.atTime(2, 0), startLocalDate.atTime(4, 0)));
 
-        NavigableSet<WorkPeriod> combined = calendar.overwritePeriodsByEvents(clock.getZone());
+        List<WorkPeriod> combined = calendar.overwritePeriodsByEvents(clock.getZone());
 
         assertEquals(1, combined.size());
-        WorkPeriod p = combined.first();
+        WorkPeriod p = combined.get(0);
         assertEquals(startZDateTime.withHour(3).toLocalDateTime(), p.getStartTime());
         assertEquals(startLocalDate.atTime(4, 0), p.getEndTime());
     }
@@ -109,13 +109,13 @@ public class EventPeriodCombinerTest {
         WorkPeriod period = new WorkPeriod(startLocalDate.atTime(1, 0), startLocalDate.atTime(4, 0));
         calendar.addWorkPeriod(period);
 
-        NavigableSet<WorkPeriod> combined = calendar.overwritePeriodsByEvents(clock.getZone());
+        List<WorkPeriod> combined = calendar.overwritePeriodsByEvents(clock.getZone());
 
         assertEquals(2, combined.size());
-        WorkPeriod p = combined.pollFirst();
+        WorkPeriod p = combined.remove(0);
         assertEquals(startLocalDate.atTime(1, 0), p.getStartTime());
         assertEquals(startZDateTime.withHour(2).toLocalDateTime(), p.getEndTime());
-        p = combined.pollFirst();
+        p = combined.remove(0);
         assertEquals(startZDateTime.withHour(3).toLocalDateTime(), p.getStartTime());
         assertEquals(startLocalDate.atTime(4, 0), p.getEndTime());
     }
@@ -125,7 +125,7 @@ public class EventPeriodCombinerTest {
         calendar.addEvent(Event.of(startZDateTime.withHour(1), startZDateTime.withHour(4),""));
         calendar.addWorkPeriod(new WorkPeriod(startLocalDate.atTime(2, 0), startLocalDate.atTime(3, 0)));
 
-        NavigableSet<WorkPeriod> combined = calendar.overwritePeriodsByEvents(clock.getZone());
+        List<WorkPeriod> combined = calendar.overwritePeriodsByEvents(clock.getZone());
 
         assertTrue(combined.isEmpty());
     }
@@ -135,7 +135,7 @@ public class EventPeriodCombinerTest {
         calendar.addEvent(Event.of(startZDateTime, startZDateTime.withHour(3),""));
         calendar.addWorkPeriod(new WorkPeriod(startLocalDate.atStartOfDay(), startLocalDate.atTime(3, 0)));
 
-        NavigableSet<WorkPeriod> combined = calendar.overwritePeriodsByEvents(clock.getZone());
+        List<WorkPeriod> combined = calendar.overwritePeriodsByEvents(clock.getZone());
 
         assertTrue(combined.isEmpty());
     }
@@ -147,10 +147,10 @@ public class EventPeriodCombinerTest {
         WorkPeriod period = new WorkPeriod(startLocalDate.atTime(1, 0), startLocalDate.atTime(4, 0));
         calendar.addWorkPeriod(period);
 
-        NavigableSet<WorkPeriod> combined = calendar.overwritePeriodsByEvents(clock.getZone());
+        List<WorkPeriod> combined = calendar.overwritePeriodsByEvents(clock.getZone());
 
         assertEquals(1, combined.size());
-        WorkPeriod p = combined.pollFirst();
+        WorkPeriod p = combined.remove(0);
         assertEquals(startZDateTime.withHour(3).toLocalDateTime(), p.getStartTime());
         assertEquals(period.getEndTime(), p.getEndTime());
     }
@@ -160,7 +160,7 @@ public class EventPeriodCombinerTest {
         calendar.addEvent(Event.of(startZDateTime.withHour(1), startZDateTime.withHour(4),""));
         calendar.addWorkPeriod(new WorkPeriod(startLocalDate.atTime(2, 0), startLocalDate.atTime(4, 0)));
 
-        NavigableSet<WorkPeriod> combined = calendar.overwritePeriodsByEvents(clock.getZone());
+        List<WorkPeriod> combined = calendar.overwritePeriodsByEvents(clock.getZone());
 
         assertTrue(combined.isEmpty());
     }
@@ -171,10 +171,10 @@ public class EventPeriodCombinerTest {
         calendar.addEvent(event);
         calendar.addWorkPeriod(new WorkPeriod(startLocalDate.atTime(1, 0), startLocalDate.atTime(4, 0)));
 
-        NavigableSet<WorkPeriod> combined = calendar.overwritePeriodsByEvents(clock.getZone());
+        List<WorkPeriod> combined = calendar.overwritePeriodsByEvents(clock.getZone());
 
         assertEquals(1, combined.size());
-        WorkPeriod p = combined.pollFirst();
+        WorkPeriod p = combined.remove(0);
         assertEquals(startLocalDate.atTime(1, 0), p.getStartTime());
         assertEquals(startZDateTime.withHour(2).toLocalDateTime(), p.getEndTime());
     }
@@ -184,10 +184,10 @@ public class EventPeriodCombinerTest {
         calendar.addEvent(Event.of(startZDateTime.withHour(2), startZDateTime.withHour(3),""));
         calendar.addWorkPeriod(new WorkPeriod(startLocalDate.atTime(1, 0), startLocalDate.atTime(2, 0)));
 
-        NavigableSet<WorkPeriod> combined = calendar.overwritePeriodsByEvents(clock.getZone());
+        List<WorkPeriod> combined = calendar.overwritePeriodsByEvents(clock.getZone());
 
         assertEquals(1, combined.size());
-        WorkPeriod p = combined.pollFirst();
+        WorkPeriod p = combined.remove(0);
         assertEquals(startLocalDate.atTime(1, 0), p.getStartTime());
         assertEquals(startLocalDate.atTime(2, 0), p.getEndTime());
     }
@@ -197,10 +197,10 @@ public class EventPeriodCombinerTest {
         calendar.addEvent(Event.of(startZDateTime.withHour(1), startZDateTime.withHour(2),""));
         calendar.addWorkPeriod(new WorkPeriod(startLocalDate.atTime(2, 0), startLocalDate.atTime(3, 0)));
 
-        NavigableSet<WorkPeriod> combined = calendar.overwritePeriodsByEvents(clock.getZone());
+        List<WorkPeriod> combined = calendar.overwritePeriodsByEvents(clock.getZone());
 
         assertEquals(1, combined.size());
-        WorkPeriod p = combined.pollFirst();
+        WorkPeriod p = combined.remove(0);
         assertEquals(startLocalDate.atTime(2, 0), p.getStartTime());
         assertEquals(startLocalDate.atTime(3, 0), p.getEndTime());
     }
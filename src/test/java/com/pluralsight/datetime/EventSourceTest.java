@@ -0,0 +1,89 @@
+package com.pluralsight.datetime;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.time.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class EventSourceTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Europe/London");
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+
+    private final Clock clock = Clock.fixed(MONDAY.atStartOfDay(ZONE).toInstant(), ZONE);
+    private List<Event> standups;
+    private List<Event> reviews;
+    private Calendar calendar;
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Before
+    public void setup() {
+        standups = Utils.generateStandups(MONDAY.atTime(9, 30), 10, Duration.ofMinutes(15), ZONE);
+        reviews = Utils.generateStandups(MONDAY.atTime(14, 0), 10, Duration.ofMinutes(45), ZONE);
+        calendar = newCalendar();
+    }
+
+    private static Calendar newCalendar() {
+        Calendar c = new Calendar().addWorkPeriods(Utils.generateWorkPeriods(MONDAY, 10));
+        for (int i = 0; i < 6; i++) {
+            c.addTask(new Task(Duration.ofMinutes(100 + 7 * i), "task " + i));
+        }
+        return c;
+    }
+
+    @Test
+    public void testSourcesScheduledAsIfCopied() {
+        calendar.addEvent(ZonedDateTime.of(MONDAY.plusDays(1).atTime(11, 0), ZONE), Duration.ofHours(1), "own");
+        Calendar copied = calendar.fork();
+        standups.forEach(copied::addEvent);
+        reviews.forEach(copied::addEvent);
+
+        calendar.addEventSource(EventSource.of(standups)).addEventSource(EventSource.of(reviews));
+
+        assertEquals(copied.createSchedule(clock).getScheduledPeriods(), calendar.createSchedule(clock).getScheduledPeriods());
+        assertEquals(copied.createSchedule(clock).toString(), calendar.createSchedule(clock).toString());
+    }
+
+    @Test
+    public void testLayersMergedInEventOrder() {
+        calendar.addEventSource(EventSource.of(reviews)).addEventSource(EventSource.of(standups));
+        calendar.addEvent(ZonedDateTime.of(MONDAY.atTime(12, 0), ZONE), Duration.ofMinutes(30), "lunch");
+
+        List<Event> merged = new ArrayList<>(calendar.getEvents());
+
+        assertEquals(21, calendar.getEvents().size());
+        assertEquals(21, merged.size());
+        for (int i = 1; i < merged.size(); i++) {
+            assertTrue(merged.get(i - 1).compareTo(merged.get(i)) < 0);
+        }
+    }
+
+    @Test
+    public void testSourceSharedBetweenCalendars() {
+        EventSource shared = EventSource.of(standups);
+        Calendar other = newCalendar();
+        calendar.addEventSource(shared);
+        other.addEventSource(shared);
+        long version = calendar.getVersion();
+
+        calendar.removeEventSource(shared);
+
+        assertTrue(calendar.getVersion() > version);
+        assertEquals(0, calendar.getEvents().size());
+        assertEquals(10, other.getEvents().size());
+    }
+
+    @Test
+    public void testRemoveUnknownSourceFails() {
+        thrown.expect(IllegalArgumentException.class);
+        calendar.removeEventSource(EventSource.of(standups));
+    }
+}
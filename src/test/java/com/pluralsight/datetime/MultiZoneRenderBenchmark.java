@@ -0,0 +1,50 @@
+package com.pluralsight.datetime;
+
+import java.time.*;
+import java.util.List;
+
+/**
+ * Compares rendering one schedule in several zones with {@link Schedule#toStrings} against building and
+ * rendering a schedule per zone, as callers had to before.
+ */
+public class MultiZoneRenderBenchmark {
+
+    private static final int DAYS = 260;
+    private static final int ITERATIONS = 50;
+    private static final List<ZoneId> ZONES = List.of(ZoneId.of("Europe/London"), ZoneId.of("America/New_York"),
+            ZoneId.of("America/Los_Angeles"), ZoneId.of("Asia/Tokyo"), ZoneId.of("Asia/Kolkata"),
+            ZoneId.of("Australia/Sydney"), ZoneId.of("Europe/Berlin"), ZoneId.of("America/Sao_Paulo"));
+
+    public static void main(String[] args) {
+        ZoneId home = ZONES.get(0);
+        LocalDate start = LocalDate.of(2030, 1, 1);
+        Calendar calendar = new Calendar().addWorkPeriods(Utils.generateWorkPeriods(start, DAYS));
+        Utils.generateStandups(start.atTime(9, 30), DAYS, Duration.ofMinutes(15), home).forEach(calendar::addEvent);
+        for (int i = 0; i < DAYS; i++) {
+            calendar.addTask(2, 45, "task " + i);
+        }
+        Instant now = start.atStartOfDay(home).toInstant();
+
+        for (int round = 0; round < 3; round++) {  // the first rounds are warm-up
+            for (int zoneCount = 1; zoneCount <= ZONES.size(); zoneCount *= 2) {
+                List<ZoneId> zones = ZONES.subList(0, zoneCount);
+                long t0 = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    for (ZoneId zone : zones) {
+                        calendar.createSchedule(Clock.fixed(now, zone)).toString();
+                    }
+                }
+                long perZoneNanos = System.nanoTime() - t0;
+
+                t0 = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    calendar.createSchedule(Clock.fixed(now, home)).toStrings(zones);
+                }
+                long sharedNanos = System.nanoTime() - t0;
+
+                System.out.printf("round %d, %d zones: schedule per zone %,d us, shared schedule %,d us%n",
+                        round, zoneCount, perZoneNanos / ITERATIONS / 1000, sharedNanos / ITERATIONS / 1000);
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.pluralsight.datetime;
+
+import java.time.*;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Times {@link ParallelPeriodEventMerger} on a resource calendar of 400,000 bookable periods and 200,000
+ * events with pools of 1, 2, 4... threads, up to the number of processors.
+ */
+public class ParallelMergeBenchmark {
+
+    private static final int PERIODS = 400_000;
+    private static final int EVENTS = 200_000;
+    private static final int REPEATS = 10;
+
+    public static void main(String[] args) {
+        ZoneId zone = ZoneOffset.UTC;
+        LocalDateTime start = LocalDate.of(2030, 1, 1).atStartOfDay();
+        Random random = new Random(1);
+        TreeSet<WorkPeriod> periods = new TreeSet<>();
+        for (int i = 0; i < PERIODS; i++) {
+            periods.add(new WorkPeriod(start.plusHours(i), start.plusHours(i).plusMinutes(45)));
+        }
+        TreeSet<Event> events = new TreeSet<>();
+        for (int i = 0; i < EVENTS; i++) {
+            ZonedDateTime eventStart = start.plusMinutes(random.nextInt(PERIODS * 60)).atZone(zone);
+            events.add(new Event(eventStart, Duration.ofMinutes(5 + random.nextInt(90)), ""));
+        }
+        int processors = Runtime.getRuntime().availableProcessors();
+
+        for (int round = 0; round < 3; round++) {  // the first rounds are warm-up
+            for (int threads = 1; threads <= processors; threads *= 2) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                long t0 = System.nanoTime();
+                for (int i = 0; i < REPEATS; i++) {
+                    new ParallelPeriodEventMerger(periods, events, zone).merge(pool);
+                }
+                long nanos = System.nanoTime() - t0;
+                pool.shutdown();
+                System.out.printf("round %d: %d threads %,d us/merge%n", round, threads, nanos / REPEATS / 1000);
+            }
+        }
+    }
+}
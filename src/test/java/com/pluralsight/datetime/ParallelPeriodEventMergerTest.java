@@ -0,0 +1,100 @@
+package com.pluralsight.datetime;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.time.*;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelPeriodEventMergerTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @AfterClass
+    public static void shutdown() {
+        POOL.shutdown();
+    }
+
+    @Test
+    public void testSameOutputAsSequentialMerge() {
+        assertSameAsSequential(ZoneOffset.UTC, 150_000, 60_000, new Random(1));
+    }
+
+    @Test
+    public void testSameOutputAcrossChangesOfOffset() {
+        // where the clocks go back, events in instant order may not be in local order
+        assertSameAsSequential(ZoneId.of("Europe/London"), 100_000, 60_000, new Random(2));
+    }
+
+    @Test
+    public void testEventsOutOfLocalOrderMergedSequentially() {
+        ZoneId london = ZoneId.of("Europe/London");
+        List<Event> events = new ArrayList<>();
+        for (int year = 2030; year < 2040; year++) {
+            // the clocks go back at 02:00 on the last Sunday of October
+            LocalDate changeDate = LocalDate.of(year, 10, 31).with(TemporalAdjusters.lastInMonth(DayOfWeek.SUNDAY));
+            events.add(new Event(changeDate.atTime(1, 50).atZone(london), Duration.ofMinutes(5), "before change"));
+            events.add(new Event(changeDate.atTime(1, 10).atZone(london).withLaterOffsetAtOverlap(), Duration.ofMinutes(5), "after change"));
+        }
+        TreeSet<Event> sorted = new TreeSet<>(events);
+        int inversions = 0;
+        LocalDateTime previous = LocalDateTime.MIN;
+        for (Event e : sorted) {
+            if (e.getLocalStartDateTime(london).isBefore(previous)) inversions++;
+            previous = e.getLocalStartDateTime(london);
+        }
+
+        assertEquals(10, inversions);
+        assertSameAsSequential(london, 100_000, 60_000, new Random(4), events);
+    }
+
+    @Test
+    public void testRepeatedMergeCountsSplitsOnce() {
+        assertSameAsSequential(ZoneOffset.UTC, 150_000, 60_000, new Random(5), List.of(), 2);
+    }
+
+    @Test
+    public void testSmallInputMergedSequentially() {
+        assertSameAsSequential(ZoneOffset.UTC, 100, 30, new Random(3));
+    }
+
+    private static void assertSameAsSequential(ZoneId zone, int periodCount, int eventCount, Random random) {
+        assertSameAsSequential(zone, periodCount, eventCount, random, List.of());
+    }
+
+    private static void assertSameAsSequential(ZoneId zone, int periodCount, int eventCount, Random random, List<Event> extraEvents) {
+        assertSameAsSequential(zone, periodCount, eventCount, random, extraEvents, 1);
+    }
+
+    private static void assertSameAsSequential(ZoneId zone, int periodCount, int eventCount, Random random,
+                                               List<Event> extraEvents, int merges) {
+        LocalDateTime start = LocalDate.of(2030, 1, 1).atStartOfDay();
+        TreeSet<WorkPeriod> periods = new TreeSet<>();
+        for (int i = 0; i < periodCount; i++) {
+            // 45 minutes in every hour, as a bookable room might be
+            LocalDateTime periodStart = start.plusHours(i);
+            periods.add(new WorkPeriod(periodStart, periodStart.plusMinutes(45)));
+        }
+        TreeSet<Event> events = new TreeSet<>();
+        for (int i = 0; i < eventCount; i++) {
+            ZonedDateTime eventStart = start.plusMinutes(random.nextInt(periodCount * 60)).atZone(zone);
+            events.add(new Event(eventStart, Duration.ofMinutes(5 + random.nextInt(random.nextInt(50) == 0 ? 600 : 90)), ""));
+        }
+        events.addAll(extraEvents);
+
+        PeriodEventMerger sequential = new PeriodEventMerger(periods.iterator(), events.iterator(), zone);
+        List<WorkPeriod> expected = new ArrayList<>();
+        sequential.forEachRemaining(expected::add);
+        ParallelPeriodEventMerger parallel = new ParallelPeriodEventMerger(periods, events, zone);
+
+        for (int i = 0; i < merges; i++) {
+            assertEquals(expected, parallel.merge(POOL));
+            assertEquals(sequential.getSplitCount(), parallel.getSplitCount());
+        }
+    }
+}
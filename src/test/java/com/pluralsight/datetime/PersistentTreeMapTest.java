@@ -0,0 +1,89 @@
+package com.pluralsight.datetime;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class PersistentTreeMapTest {
+
+    @Test
+    public void testMatchesTreeMap() {
+        Random random = new Random(42);
+        PersistentTreeMap<Integer, String> map = PersistentTreeMap.empty();
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        for (int i = 0; i < 5000; i++) {
+            int key = random.nextInt(1000);
+            if (random.nextInt(3) == 0) {
+                map = map.remove(key);
+                expected.remove(key);
+            } else {
+                map = map.put(key, "v" + i);
+                expected.put(key, "v" + i);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        Iterator<Map.Entry<Integer, String>> it = map.iterator();
+        for (Map.Entry<Integer, String> e : expected.entrySet()) {
+            Map.Entry<Integer, String> actual = it.next();
+            assertEquals(e.getKey(), actual.getKey());
+            assertEquals(e.getValue(), actual.getValue());
+        }
+        assertFalse(it.hasNext());
+        for (int key = -1; key <= 1001; key++) {
+            assertEquals(expected.floorKey(key), keyOf(map.floorEntry(key)));
+            assertEquals(expected.lowerKey(key), keyOf(map.lowerEntry(key)));
+            assertEquals(expected.ceilingKey(key), keyOf(map.ceilingEntry(key)));
+            assertEquals(expected.higherKey(key), keyOf(map.higherEntry(key)));
+        }
+    }
+
+    @Test
+    public void testPutAllMatchesTreeMap() {
+        Random random = new Random(7);
+        PersistentTreeMap<Integer, String> map = PersistentTreeMap.empty();
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        for (int batch = 0; batch < 50; batch++) {
+            // batches both small and large compared with the map, with repeated keys
+            List<Map.Entry<Integer, String>> entries = new ArrayList<>();
+            int count = random.nextBoolean() ? random.nextInt(20) : random.nextInt(2000);
+            for (int i = 0; i < count; i++) {
+                entries.add(new AbstractMap.SimpleImmutableEntry<>(random.nextInt(5000), "v" + batch + "." + i));
+            }
+            PersistentTreeMap<Integer, String> before = map;
+            int sizeBefore = before.size();
+            map = map.putAll(entries);
+            entries.forEach(e -> expected.put(e.getKey(), e.getValue()));
+
+            assertEquals(sizeBefore, before.size());
+            assertEquals(expected.size(), map.size());
+            Iterator<Map.Entry<Integer, String>> it = map.iterator();
+            for (Map.Entry<Integer, String> e : expected.entrySet()) {
+                Map.Entry<Integer, String> actual = it.next();
+                assertEquals(e.getKey(), actual.getKey());
+                assertEquals(e.getValue(), actual.getValue());
+            }
+        }
+        for (int key = 0; key < 5000; key += 7) {
+            assertEquals(expected.ceilingKey(key), keyOf(map.ceilingEntry(key)));
+        }
+    }
+
+    @Test
+    public void testOldVersionsUnchanged() {
+        PersistentTreeMap<Integer, String> v1 = PersistentTreeMap.<Integer, String>empty().put(1, "a").put(2, "b");
+        PersistentTreeMap<Integer, String> v2 = v1.put(3, "c").remove(1);
+
+        assertEquals(2, v1.size());
+        assertEquals("a", v1.get(1));
+        assertNull(v1.get(3));
+        assertEquals(2, v2.size());
+        assertNull(v2.get(1));
+        assertEquals("c", v2.get(3));
+    }
+
+    private static Integer keyOf(Map.Entry<Integer, String> entry) {
+        return entry == null ? null : entry.getKey();
+    }
+}
@@ -0,0 +1,51 @@
+package com.pluralsight.datetime;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.time.*;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class RecurrenceRuleTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    private final ZoneId zone = ZoneId.of("Europe/London");
+    private final ZonedDateTime sunday = ZonedDateTime.of(2025, 1, 5, 10, 0, 0, 0, zone);
+
+    @Test
+    public void testFortnightlyWeeksStartOnMondayByDefault() {
+        assertEquals(List.of(5, 14, 19, 28), daysOfMonth("FREQ=WEEKLY;INTERVAL=2;BYDAY=SU,TU;COUNT=4"));
+    }
+
+    @Test
+    public void testFortnightlyWeeksStartOnWkst() {
+        assertEquals(List.of(5, 7, 19, 21), daysOfMonth("FREQ=WEEKLY;INTERVAL=2;WKST=SU;BYDAY=SU,TU;COUNT=4"));
+    }
+
+    @Test
+    public void testWeeklyUnaffectedByWkst() {
+        assertEquals(daysOfMonth("FREQ=WEEKLY;BYDAY=SU,TU,FR;COUNT=6"),
+                daysOfMonth("FREQ=WEEKLY;WKST=WE;BYDAY=SU,TU,FR;COUNT=6"));
+    }
+
+    @Test
+    public void testUnknownWkstRejected() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Unsupported day of the week: XX");
+        RecurrenceRule.parse("FREQ=WEEKLY;WKST=XX", zone);
+    }
+
+    private List<Integer> daysOfMonth(String rule) {
+        List<Integer> days = new ArrayList<>();
+        Iterator<ZonedDateTime> occurrences = RecurrenceRule.parse(rule, zone).occurrences(sunday, sunday.plusYears(1).toInstant());
+        occurrences.forEachRemaining(t -> days.add(t.getDayOfMonth()));
+        return days;
+    }
+}
@@ -0,0 +1,57 @@
+package com.pluralsight.datetime;
+
+import org.mockito.Mockito;
+
+import java.time.*;
+import java.time.temporal.ChronoUnit;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares re-planning a long-horizon calendar every few minutes of simulated time with
+ * {@link RollingScheduler} against rebuilding it with {@link Calendar#createSchedule} each time.
+ */
+public class RollingSchedulerBenchmark {
+
+    private static final int DAYS = 1_000;
+    private static final int TICKS = 2_000;
+
+    private static Instant currentTime;
+
+    public static void main(String[] args) {
+        ZoneId zone = ZoneId.of("Europe/London");
+        LocalDate startDate = LocalDate.of(2030, 1, 7);
+        Clock clock = Mockito.mock(Clock.class);
+        when(clock.instant()).thenAnswer(invocation -> currentTime);
+        when(clock.getZone()).thenReturn(zone);
+
+        Calendar calendar = new Calendar().addWorkPeriods(Utils.generateWorkPeriods(startDate, DAYS));
+        Utils.generateStandups(startDate.atTime(9, 30), DAYS, Duration.ofMinutes(15), zone).forEach(calendar::addEvent);
+        for (int i = 0; i < 20; i++) {
+            calendar.addTask(new Task(Duration.ofMinutes(90 + 7 * i), "task " + i));
+        }
+        Instant start = startDate.atStartOfDay(zone).toInstant();
+
+        for (int round = 0; round < 3; round++) {  // the first rounds are warm-up
+            currentTime = start;
+            long t0 = System.nanoTime();
+            for (int tick = 0; tick < TICKS; tick++) {
+                calendar.createSchedule(clock);
+                currentTime = currentTime.plus(5, ChronoUnit.MINUTES); // simulate passage of time
+            }
+            long fullNanos = System.nanoTime() - t0;
+
+            currentTime = start;
+            RollingScheduler scheduler = new RollingScheduler(calendar);
+            t0 = System.nanoTime();
+            for (int tick = 0; tick < TICKS; tick++) {
+                scheduler.createSchedule(clock);
+                currentTime = currentTime.plus(5, ChronoUnit.MINUTES);
+            }
+            long rollingNanos = System.nanoTime() - t0;
+
+            System.out.printf("round %d: full rebuild %,d us/tick, rolling %,d us/tick%n",
+                    round, fullNanos / TICKS / 1000, rollingNanos / TICKS / 1000);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.pluralsight.datetime;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.time.*;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.when;
+
+public class RollingSchedulerTest {
+
+    private Instant currentTime;
+    private final Clock clock = Mockito.mock(Clock.class);
+    private Calendar calendar;
+    private RollingScheduler scheduler;
+
+    @Before
+    public void setup() {
+        ZoneId zone = ZoneId.of("Europe/London");
+        LocalDate startDate = LocalDate.of(2030, 1, 7);
+        currentTime = startDate.atStartOfDay(zone).toInstant();
+        when(clock.instant()).thenAnswer(invocation -> currentTime);
+        when(clock.getZone()).thenReturn(zone);
+
+        calendar = new Calendar().addWorkPeriods(Utils.generateWorkPeriods(startDate, 10));
+        Utils.generateStandups(startDate.atTime(9, 30), 10, Duration.ofMinutes(15), zone).forEach(calendar::addEvent);
+        for (int i = 0; i < 8; i++) {
+            calendar.addTask(new Task(Duration.ofMinutes(100 + 7 * i), "task " + i));
+        }
+        scheduler = new RollingScheduler(calendar);
+    }
+
+    @Test
+    public void testMatchesFullRebuildAsTimePasses() {
+        for (int tick = 0; tick < 500; tick++) {
+            assertSameSchedule(calendar.createSchedule(clock), scheduler.createSchedule(clock));
+            currentTime = currentTime.plus(17, ChronoUnit.MINUTES); // simulate passage of time
+        }
+    }
+
+    @Test
+    public void testCalendarChangesPickedUp() {
+        scheduler.createSchedule(clock);
+        calendar.addTask(new Task(Duration.ofHours(30), "big task"));
+        currentTime = currentTime.plus(10, ChronoUnit.HOURS);
+
+        Schedule schedule = scheduler.createSchedule(clock);
+
+        assertSameSchedule(calendar.createSchedule(clock), schedule);
+        assertSame(schedule, scheduler.getLastSchedule());
+    }
+
+    @Test
+    public void testInProgressPeriodTrimmed() {
+        currentTime = currentTime.plus(Duration.ofHours(10));
+
+        WorkPeriod first = scheduler.createSchedule(clock).getScheduledPeriods().get(0);
+
+        assertEquals(LocalDateTime.ofInstant(currentTime, clock.getZone()), first.getStartTime());
+    }
+
+    private static void assertSameSchedule(Schedule expected, Schedule actual) {
+        assertEquals(expected.isSuccessful(), actual.isSuccessful());
+        assertEquals(expected.getScheduledPeriods(), actual.getScheduledPeriods());
+        assertEquals(expected.toString(), actual.toString());
+    }
+}
@@ -0,0 +1,51 @@
+package com.pluralsight.datetime;
+
+import java.lang.management.ManagementFactory;
+import java.time.*;
+
+/**
+ * Measures the bytes allocated by building and rendering a schedule for a calendar of a year's working days.
+ * Needs a HotSpot JVM, for per-thread allocation counters.
+ */
+public class ScheduleAllocationBenchmark {
+
+    private static final int DAYS = 260;
+    private static final int ITERATIONS = 200;
+
+    public static void main(String[] args) {
+        ZoneId zone = ZoneOffset.UTC;
+        LocalDate start = LocalDate.of(2030, 1, 1);
+        Clock clock = Clock.fixed(start.atStartOfDay(zone).toInstant(), zone);
+        Calendar calendar = new Calendar().addWorkPeriods(Utils.generateWorkPeriods(start, DAYS));
+        Utils.generateStandups(start.atTime(9, 30), DAYS, Duration.ofMinutes(15), zone).forEach(calendar::addEvent);
+        for (int i = 0; i < DAYS; i++) {
+            calendar.addTask(2, 45, "task " + i);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < ITERATIONS; i++) {  // warm-up
+            calendar.createSchedule(clock).toString();
+        }
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        long t0 = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            calendar.createSchedule(clock);
+        }
+        long buildNanos = System.nanoTime() - t0;
+        long buildBytes = threads.getThreadAllocatedBytes(threadId) - before;
+
+        Schedule schedule = calendar.createSchedule(clock);
+        before = threads.getThreadAllocatedBytes(threadId);
+        t0 = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            schedule.toString();
+        }
+        long renderNanos = System.nanoTime() - t0;
+        long renderBytes = threads.getThreadAllocatedBytes(threadId) - before;
+
+        System.out.printf("createSchedule: %,d ns/op, %,d bytes/op%n", buildNanos / ITERATIONS, buildBytes / ITERATIONS);
+        System.out.printf("toString:       %,d ns/op, %,d bytes/op%n", renderNanos / ITERATIONS, renderBytes / ITERATIONS);
+    }
+}
@@ -0,0 +1,95 @@
+package com.pluralsight.datetime;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.*;
+import java.util.Collections;
+import java.util.Iterator;
+
+import static org.junit.Assert.*;
+
+public class ScheduleCacheTest {
+
+    private ScheduleCache cache;
+    private Calendar calendar;
+    private Clock clock;
+    private LocalDateTime start;
+
+    @Before
+    public void setup() {
+        cache = new ScheduleCache(2, Duration.ofMinutes(1));
+        clock = Clock.fixed(Instant.EPOCH, ZoneOffset.UTC);
+        start = LocalDateTime.now(clock);
+        calendar = new Calendar()
+                .addWorkPeriod(new WorkPeriod(start.plusHours(1), start.plusHours(2)))
+                .addTask(new Task(30, "task"));
+    }
+
+    @Test
+    public void testHitWithinBucket() {
+        Schedule schedule = cache.getSchedule(calendar, clock);
+        Clock later = Clock.offset(clock, Duration.ofSeconds(59));
+
+        assertSame(schedule, cache.getSchedule(calendar, later));
+        assertEquals(schedule.toString(), cache.getRenderedSchedule(calendar, later));
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    public void testMissOnNewBucketOrVersion() {
+        Schedule schedule = cache.getSchedule(calendar, clock);
+
+        assertNotSame(schedule, cache.getSchedule(calendar, Clock.offset(clock, Duration.ofMinutes(1))));
+        long version = calendar.getVersion();
+        calendar.addTask(new Task(10, "another task"));
+        assertTrue(calendar.getVersion() > version);
+        assertNotSame(schedule, cache.getSchedule(calendar, clock));
+        assertEquals(0, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+    }
+
+    @Test
+    public void testChangeDuringBuildNotCachedUnderOlderVersion() {
+        // changes the calendar when the build reads its events, before it reads its tasks, as another
+        // thread could
+        calendar.addEventSource(new EventSource() {
+            private boolean changed;
+
+            @Override
+            public Iterator<Event> iterator() {
+                if (!changed) {
+                    changed = true;
+                    calendar.addTask(new Task(10, "another task"));
+                }
+                return Collections.emptyIterator();
+            }
+
+            @Override
+            public int size() {
+                return 0;
+            }
+        });
+
+        Schedule schedule = cache.getSchedule(calendar, clock);
+
+        assertEquals(1, schedule.getScheduledPeriods().get(0).getTaskParts().size());
+        assertEquals(2, cache.getSchedule(calendar, clock).getScheduledPeriods().get(0).getTaskParts().size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEvicted() {
+        Calendar other = calendar.fork();
+        Calendar third = calendar.fork();
+        Schedule schedule = cache.getSchedule(calendar, clock);
+        cache.getSchedule(other, clock);
+        cache.getSchedule(calendar, clock);
+        cache.getSchedule(third, clock);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertSame(schedule, cache.getSchedule(calendar, clock));
+        assertEquals(0.4, cache.getHitRate(), 1e-9);
+    }
+}
@@ -0,0 +1,72 @@
+package com.pluralsight.datetime;
+
+import org.mockito.Mockito;
+
+import java.time.*;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * Arms one schedule under enough keys for a million pending timers in {@link ScheduleDispatcher}, then
+ * advances simulated time a minute at a time until all have fired.
+ */
+public class ScheduleDispatcherBenchmark {
+
+    private static final int DAYS = 10;
+    private static final int PENDING_TIMERS = 1_000_000;
+
+    private static Instant currentTime;
+
+    public static void main(String[] args) {
+        ZoneId zone = ZoneId.of("Europe/London");
+        LocalDate startDate = LocalDate.of(2030, 1, 7);
+        Clock clock = Mockito.mock(Clock.class);
+        when(clock.instant()).thenAnswer(invocation -> currentTime);
+        when(clock.getZone()).thenReturn(zone);
+
+        Calendar calendar = new Calendar().addWorkPeriods(Utils.generateWorkPeriods(startDate, DAYS));
+        for (int i = 0; i < 20; i++) {
+            calendar.addTask(new Task(Duration.ofMinutes(60 + 7 * i), "task " + i));
+        }
+        Instant start = startDate.atStartOfDay(zone).toInstant();
+
+        for (int round = 0; round < 3; round++) {  // the first rounds are warm-up
+            currentTime = start;
+            Schedule schedule = calendar.createSchedule(clock);
+            LongAdder fired = new LongAdder();
+            ScheduleDispatcher<Integer> dispatcher = new ScheduleDispatcher<>(clock, Duration.ofSeconds(1), new DispatchListener<Integer>() {
+                @Override
+                public void taskPartStarted(Integer key, TaskPart part) {
+                    fired.increment();
+                }
+
+                @Override
+                public void taskPartEnded(Integer key, TaskPart part) {
+                    fired.increment();
+                }
+            });
+
+            long t0 = System.nanoTime();
+            int keys = 0;
+            while (dispatcher.getPendingCount() < PENDING_TIMERS) {
+                dispatcher.dispatch(keys++, schedule);
+            }
+            long armNanos = System.nanoTime() - t0;
+            int pending = dispatcher.getPendingCount();
+
+            t0 = System.nanoTime();
+            int advances = 0;
+            while (dispatcher.getPendingCount() > 0) {
+                currentTime = currentTime.plus(1, ChronoUnit.MINUTES); // simulate passage of time
+                dispatcher.advance();
+                advances++;
+            }
+            long fireNanos = System.nanoTime() - t0;
+
+            System.out.printf("round %d: %,d timers for %,d keys armed at %d ns/timer, fired at %d ns/timer over %,d advances%n",
+                    round, pending, keys, armNanos / pending, fireNanos / pending, advances);
+        }
+    }
+}
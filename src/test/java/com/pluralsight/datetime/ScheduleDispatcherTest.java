@@ -0,0 +1,186 @@
+package com.pluralsight.datetime;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.time.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+public class ScheduleDispatcherTest {
+
+    private final ZoneId zone = ZoneId.of("Europe/London");
+    private final LocalDate startDate = LocalDate.of(2030, 1, 7);
+    private final Clock clock = Mockito.mock(Clock.class);
+    private final List<String> fired = new ArrayList<>();
+    private Instant currentTime;
+    private Calendar calendar;
+    private ScheduleDispatcher<String> dispatcher;
+
+    @Before
+    public void setup() {
+        currentTime = startDate.atStartOfDay(zone).toInstant();
+        when(clock.instant()).thenAnswer(invocation -> currentTime);
+        when(clock.getZone()).thenReturn(zone);
+
+        calendar = new Calendar().addWorkPeriods(Utils.generateWorkPeriods(startDate, 1));
+        calendar.addTask(new Task(Duration.ofHours(1), "a"));
+        calendar.addTask(new Task(Duration.ofMinutes(30), "b"));
+        dispatcher = new ScheduleDispatcher<>(clock, Duration.ofSeconds(1), new DispatchListener<String>() {
+            @Override
+            public void periodStarted(String key, WorkPeriod period) {
+                record(key + " period start");
+            }
+
+            @Override
+            public void periodEnded(String key, WorkPeriod period) {
+                record(key + " period end");
+            }
+
+            @Override
+            public void taskPartStarted(String key, TaskPart part) {
+                record(key + " " + part.getOwner().getDescription() + " start");
+            }
+
+            @Override
+            public void taskPartEnded(String key, TaskPart part) {
+                record(key + " " + part.getOwner().getDescription() + " end");
+            }
+        });
+    }
+
+    private void record(String boundary) {
+        fired.add(LocalTime.ofInstant(currentTime, zone) + " " + boundary);
+    }
+
+    @Test
+    public void testBoundariesFiredWhenReached() {
+        dispatcher.dispatch("cal", calendar.createSchedule(clock));
+
+        advanceMinutes(24 * 60);
+
+        assertEquals(List.of(
+                "09:00 cal period start", "09:00 cal a start", "10:00 cal a end", "10:00 cal b start",
+                "10:30 cal b end", "12:30 cal period end", "13:30 cal period start", "17:00 cal period end"), fired);
+        assertEquals(0, dispatcher.getPendingCount());
+    }
+
+    @Test
+    public void testRedispatchReplacesTimers() {
+        dispatcher.dispatch("cal", calendar.createSchedule(clock));
+        advanceMinutes(9 * 60 + 15);
+        calendar.addTask(new Task(Duration.ofMinutes(15), "c"));
+
+        // the rebuilt schedule starts at 09:15 with a in progress, which isn't announced again
+        dispatcher.dispatch("cal", calendar.createSchedule(clock));
+        advanceMinutes(15 * 60);
+
+        assertEquals(List.of(
+                "09:00 cal period start", "09:00 cal a start", "10:15 cal a end", "10:15 cal b start",
+                "10:45 cal b end", "10:45 cal c start", "11:00 cal c end", "12:30 cal period end",
+                "13:30 cal period start", "17:00 cal period end"), fired);
+    }
+
+    @Test
+    public void testRemoveDisarmsSchedule() {
+        dispatcher.dispatch("cal", calendar.createSchedule(clock));
+        dispatcher.dispatch("other", calendar.createSchedule(clock));
+
+        dispatcher.remove("cal");
+        advanceMinutes(24 * 60);
+
+        assertTrue(fired.stream().allMatch(b -> b.contains("other")));
+        assertEquals(8, fired.size());
+    }
+
+    @Test
+    public void testFiredTimersDropped() {
+        dispatcher.dispatch("cal", calendar.createSchedule(clock));
+        advanceMinutes(10 * 60);
+
+        assertEquals(4, dispatcher.getPendingCount());
+        assertEquals(1, dispatcher.getArmedKeyCount());
+        advanceMinutes(14 * 60);
+
+        assertEquals(0, dispatcher.getPendingCount());
+        assertEquals(0, dispatcher.getArmedKeyCount());
+    }
+
+    @Test
+    public void testFollowedReschedulerRearmsOnRebuild() {
+        List<Runnable> checks = new ArrayList<>();
+        BackgroundRescheduler rescheduler = new BackgroundRescheduler(calendar, clock, capturingExecutor(checks), Duration.ZERO, Duration.ZERO);
+
+        dispatcher.follow("cal", rescheduler);
+        calendar.addTask(new Task(Duration.ofMinutes(15), "c"));
+        checks.remove(0).run();
+        advanceMinutes(12 * 60);
+
+        assertTrue(fired.containsAll(List.of("10:30 cal c start", "10:45 cal c end")));
+        dispatcher.remove("cal");
+        calendar.addTask(new Task(Duration.ofMinutes(15), "d"));
+        checks.remove(0).run();
+
+        assertNotNull(rescheduler.getLatestSchedule());
+        assertEquals(0, dispatcher.getPendingCount());
+    }
+
+    @Test
+    public void testScheduleDeliveredAfterRemoveIgnored() {
+        List<Runnable> checks = new ArrayList<>();
+        BackgroundRescheduler rescheduler = new BackgroundRescheduler(calendar, clock, capturingExecutor(checks), Duration.ZERO, Duration.ZERO);
+        // called before the dispatcher's listener for the same schedule, as a concurrent remove could be
+        rescheduler.addScheduleListener(schedule -> dispatcher.remove("cal"));
+
+        dispatcher.follow("cal", rescheduler);
+        calendar.addTask(new Task(Duration.ofMinutes(15), "c"));
+        checks.remove(0).run();
+
+        assertEquals(0, dispatcher.getPendingCount());
+        assertEquals(0, dispatcher.getArmedKeyCount());
+    }
+
+    @Test
+    public void testFollowDispatchesLatestSchedule() {
+        List<Runnable> checks = new ArrayList<>();
+        BackgroundRescheduler rescheduler = new BackgroundRescheduler(calendar, clock, capturingExecutor(checks), Duration.ZERO, Duration.ZERO);
+        calendar.addTask(new Task(Duration.ofMinutes(15), "c"));
+        checks.remove(0).run();
+
+        dispatcher.follow("cal", rescheduler);
+
+        assertEquals(10, dispatcher.getPendingCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroTickRejected() {
+        new ScheduleDispatcher<String>(clock, Duration.ZERO, new DispatchListener<String>() { });
+    }
+
+    // An executor that only collects the tasks scheduled on it, for the test to run
+    private static ScheduledExecutorService capturingExecutor(List<Runnable> scheduled) {
+        ScheduledExecutorService executor = Mockito.mock(ScheduledExecutorService.class);
+        doAnswer(invocation -> {
+            scheduled.add(invocation.getArgument(0));
+            return Mockito.mock(ScheduledFuture.class);
+        }).when(executor).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        return executor;
+    }
+
+    private void advanceMinutes(int minutes) {
+        for (int i = 0; i < minutes; i++) {
+            currentTime = currentTime.plus(Duration.ofMinutes(1));
+            dispatcher.advance();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.pluralsight.datetime;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.*;
+
+import static org.junit.Assert.*;
+
+public class ScheduleMetricsTest {
+
+    private Calendar calendar;
+    private ScheduleMetrics metrics;
+    private Clock clock;
+    private LocalDate startDate;
+
+    @Before
+    public void setup() {
+        startDate = LocalDate.EPOCH;
+        clock = Clock.fixed(Instant.EPOCH, ZoneOffset.UTC);
+        metrics = new ScheduleMetrics();
+        calendar = new Calendar().setSchedulingListener(metrics);
+    }
+
+    @Test
+    public void testCountsRecorded() {
+        calendar.addWorkPeriod(new WorkPeriod(startDate.atTime(1, 0), startDate.atTime(4, 0)));
+        calendar.addWorkPeriod(new WorkPeriod(startDate.atTime(5, 0), startDate.atTime(6, 0)));
+        calendar.addEvent(ZonedDateTime.of(startDate.atTime(2, 0), clock.getZone()), Duration.ofMinutes(30), "meeting");
+        calendar.addTask(new Task(Duration.ofHours(3), "long task"));
+
+        calendar.createSchedule(clock);
+
+        assertEquals(1, metrics.getScheduleCount());
+        assertEquals(0, metrics.getUnsuccessfulCount());
+        assertEquals(2, metrics.getPeriodCount());
+        assertEquals(1, metrics.getEventCount());
+        assertEquals(2, metrics.getPeriodSplitCount());
+        // 1:00-2:00, 2:30-4:00, 5:00-5:30
+        assertEquals(3, metrics.getTaskPartCount());
+        assertEquals(2, metrics.getTaskPartSplitCount());
+    }
+
+    @Test
+    public void testLatencyHistogram() {
+        calendar.addTask(new Task(Duration.ofHours(1), "unplaceable"));
+        calendar.createSchedule(clock);
+        calendar.fork().createSchedule(clock);
+
+        assertEquals(2, metrics.getScheduleCount());
+        assertEquals(2, metrics.getUnsuccessfulCount());
+        assertEquals(2, java.util.Arrays.stream(metrics.getLatencyHistogram()).sum());
+        assertTrue(metrics.getLatencyPercentile(99).compareTo(Duration.ZERO) > 0);
+    }
+}
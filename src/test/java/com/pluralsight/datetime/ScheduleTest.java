@@ -0,0 +1,163 @@
+package com.pluralsight.datetime;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ScheduleTest {
+
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+    private static final ZoneId TOKYO = ZoneId.of("Asia/Tokyo");
+
+    private Calendar calendar;
+    private Clock clock;
+    private LocalDate startDate;
+
+    @Before
+    public void setup() {
+        startDate = LocalDate.of(2030, 1, 7);
+        clock = Clock.fixed(startDate.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        calendar = new Calendar()
+                .addWorkPeriod(new WorkPeriod(startDate.atTime(9, 0), startDate.atTime(12, 0)))
+                .addEvent(ZonedDateTime.of(startDate.atTime(14, 30), ZoneOffset.UTC), Duration.ofHours(1), "call")
+                .addTask(new Task(Duration.ofHours(2), "report"));
+    }
+
+    @Test
+    public void testRenderedInOtherZones() {
+        Schedule schedule = calendar.createSchedule(clock);
+
+        Map<ZoneId, String> renderings = schedule.toStrings(List.of(ZoneOffset.UTC, NEW_YORK, TOKYO));
+
+        assertEquals(schedule.toString(), renderings.get(ZoneOffset.UTC));
+        assertEquals(String.join("\n", "",
+                "2030-01-07",
+                "\tWork Period: 4:00 AM to 7:00 AM",
+                "\t\treport, 2hrs 0mins",
+                "\tcall: 9:30 AM, duration = 1hr 0mins"), renderings.get(NEW_YORK));
+        // the call runs across midnight in Tokyo
+        assertEquals(String.join("\n", "",
+                "2030-01-07",
+                "\tWork Period: 6:00 PM to 9:00 PM",
+                "\t\treport, 2hrs 0mins",
+                "\tcall: 11:30 PM, duration = 30mins",
+                "2030-01-08",
+                "\tcall: 12:00 AM, duration = 30mins"), renderings.get(TOKYO));
+        assertSame(renderings.get(TOKYO), schedule.toString(TOKYO));
+    }
+
+    @Test
+    public void testDayIndex() {
+        calendar.addWorkPeriod(new WorkPeriod(startDate.plusDays(1).atTime(22, 0), startDate.plusDays(2).atTime(2, 0)));
+        calendar.addTask(new Task(Duration.ofHours(4), "overnight"));
+        Schedule schedule = calendar.createSchedule(clock);
+
+        DayView secondDay = schedule.forDate(startDate.plusDays(1));
+        assertEquals(1, secondDay.getWorkPeriods().size());
+        assertEquals(startDate.plusDays(2).atStartOfDay(), secondDay.getWorkPeriods().get(0).getEndTime());
+        assertEquals(Duration.ofHours(2), secondDay.getTaskParts().get(0).getDuration());
+        assertTrue(secondDay.getEvents().isEmpty());
+
+        DayView thirdDay = schedule.forDate(startDate.plusDays(2));
+        assertEquals(Duration.ofHours(1), thirdDay.getTaskParts().get(0).getDuration());
+        // the second part runs across midnight, so is shown on both days
+        assertEquals("\n2030-01-09\n\tWork Period: 12:00 AM to 2:00 AM\n\t\tovernight(2/2), 1hr 0mins", thirdDay.toString());
+
+        assertTrue(schedule.forDate(startDate.plusDays(5)).isEmpty());
+        assertEquals(List.of(startDate, startDate.plusDays(1)), List.copyOf(schedule.forRange(startDate, startDate.plusDays(2)).keySet()));
+        StringBuilder days = new StringBuilder();
+        schedule.getDays().values().forEach(days::append);
+        assertEquals(schedule.toString(), days.toString());
+    }
+
+    @Test
+    public void testDiffOfUnchangedScheduleIsEmpty() {
+        ScheduleDiff diff = calendar.createSchedule(clock).diff(calendar.createSchedule(clock));
+
+        assertTrue(diff.isEmpty());
+        assertEquals("", diff.encode());
+    }
+
+    @Test
+    public void testDiffFindsChangedPeriodsAndEvents() {
+        Event standup = new Event(ZonedDateTime.of(startDate.atTime(8, 30), ZoneOffset.UTC), Duration.ofMinutes(15), "standup");
+        Event call = calendar.getEvents().iterator().next();
+        calendar.addEvent(standup);
+        Schedule previous = calendar.createSchedule(clock);
+
+        Task review = new Task(Duration.ofMinutes(90), "review");
+        calendar.addTask(review)
+                .addWorkPeriod(new WorkPeriod(startDate.atTime(16, 0), startDate.atTime(17, 0)))
+                .removeEvent(standup.getId())
+                .moveEvent(call.getId(), ZonedDateTime.of(startDate.atTime(15, 0), ZoneOffset.UTC));
+        Event lunch = new Event(ZonedDateTime.of(startDate.atTime(12, 0), ZoneOffset.UTC), Duration.ofMinutes(30), "team lunch");
+        calendar.addEvent(lunch);
+        ScheduleDiff diff = calendar.createSchedule(clock).diff(previous);
+
+        assertEquals(1, diff.getChangedPeriods().size());
+        ScheduleDiff.PeriodChange change = diff.getChangedPeriods().get(0);
+        assertEquals(List.of(new TaskPart(review, Duration.ofHours(1), 1)), change.getAddedTaskParts());
+        assertTrue(change.getRemovedTaskParts().isEmpty());
+        long reportId = change.getAfter().getTaskParts().get(0).getOwner().getId();
+        assertEquals(String.join("\n",
+                "+t " + review.getId() + " review",
+                "+p 2030-01-07T16:00 2030-01-07T17:00 " + review.getId() + ".2=PT30M",
+                "~p 2030-01-07T09:00 2030-01-07T12:00 " + reportId + ".1=PT2H," + review.getId() + ".1=PT1H",
+                "-e " + standup.getId(),
+                "+e " + lunch.getId() + " 2030-01-07T12:00:00Z 2030-01-07T12:30:00Z team lunch",
+                "~e " + call.getId() + " 2030-01-07T15:00:00Z 2030-01-07T16:00:00Z",
+                ""), diff.encode());
+    }
+
+    @Test
+    public void testDiffNamesAddedTasks() {
+        Schedule previous = calendar.createSchedule(clock);
+        // a client's view of the previous schedule: the descriptions of the tasks it holds, by id
+        Map<String, String> taskNames = new HashMap<>();
+        for (WorkPeriod p : previous.getScheduledPeriods()) {
+            for (TaskPart tp : p.getTaskParts()) taskNames.put(String.valueOf(tp.getOwner().getId()), tp.getOwner().getDescription());
+        }
+
+        calendar.addTask(new Task(Duration.ofMinutes(30), "code review"));
+        String encoded = calendar.createSchedule(clock).diff(previous).encode();
+        List<String> scheduledNames = new ArrayList<>();
+        for (String line : encoded.split("\n")) {
+            String[] fields = line.split(" ", 3);
+            if (fields[0].equals("+t")) taskNames.put(fields[1], fields[2]);
+            if (fields[0].endsWith("p") && fields.length == 3) {
+                for (String part : fields[2].split(" ")[1].split(",")) {
+                    scheduledNames.add(taskNames.get(part.substring(0, part.indexOf('.'))));
+                }
+            }
+        }
+
+        assertEquals(List.of("report", "code review"), scheduledNames);
+    }
+
+    @Test
+    public void testDiffFindsRenamedEvent() {
+        Event call = calendar.getEvents().iterator().next();
+        Schedule previous = calendar.createSchedule(clock);
+
+        ZonedDateTime start = ZonedDateTime.of(startDate.atTime(14, 30), ZoneOffset.UTC);
+        calendar.addEvent(Event.withId(call.getId(), start, start.plusHours(1), "client call"));
+        ScheduleDiff diff = calendar.createSchedule(clock).diff(previous);
+
+        assertEquals(1, diff.getChangedEvents().size());
+        assertEquals("~n " + call.getId() + " client call\n", diff.encode());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDiffAcrossZonesRejected() {
+        Schedule schedule = calendar.createSchedule(clock);
+
+        schedule.diff(calendar.createSchedule(clock.withZone(TOKYO)));
+    }
+}
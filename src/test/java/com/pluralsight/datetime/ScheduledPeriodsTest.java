@@ -0,0 +1,126 @@
+package com.pluralsight.datetime;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.time.*;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.when;
+
+public class ScheduledPeriodsTest {
+
+    private final Clock clock = Mockito.mock(Clock.class);
+    private Calendar calendar;
+
+    @Before
+    public void setup() {
+        ZoneId zone = ZoneId.of("Europe/London");
+        LocalDate startDate = LocalDate.of(2030, 1, 7);
+        when(clock.instant()).thenReturn(startDate.atTime(11, 0).atZone(zone).toInstant());
+        when(clock.getZone()).thenReturn(zone);
+
+        calendar = new Calendar().addWorkPeriods(Utils.generateWorkPeriods(startDate, 10));
+        Utils.generateStandups(startDate.atTime(9, 30), 10, Duration.ofMinutes(15), zone).forEach(calendar::addEvent);
+        for (int i = 0; i < 8; i++) {
+            calendar.addTask(new Task(Duration.ofMinutes(100 + 7 * i), "task " + i));
+        }
+    }
+
+    @Test
+    public void testIteratorMatchesCreateSchedule() {
+        List<WorkPeriod> periods = new ArrayList<>();
+        calendar.scheduledPeriods(clock).forEachRemaining(periods::add);
+
+        assertEquals(calendar.createSchedule(clock).getScheduledPeriods(), periods);
+    }
+
+    @Test
+    public void testIteratorUnaffectedByLaterChanges() {
+        List<WorkPeriod> expected = calendar.createSchedule(clock).getScheduledPeriods();
+        Iterator<WorkPeriod> periods = calendar.scheduledPeriods(clock);
+        List<WorkPeriod> actual = new ArrayList<>();
+        actual.add(periods.next());
+
+        calendar.removeWorkPeriod(LocalDate.of(2030, 1, 8).atTime(9, 0));
+        calendar.addTask(new Task(Duration.ofHours(5), "late task"));
+        periods.forEachRemaining(actual::add);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testPublisherHonoursDemand() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        calendar.schedulePublisher(clock, Runnable::run).subscribe(subscriber);
+
+        subscriber.subscription.request(2);
+        assertEquals(2, subscriber.received.size());
+        assertFalse(subscriber.completed);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertEquals(calendar.createSchedule(clock).getScheduledPeriods(), subscriber.received);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void testPublisherStopsOnCancel() {
+        RecordingSubscriber subscriber = new RecordingSubscriber() {
+            @Override
+            public void onNext(WorkPeriod item) {
+                super.onNext(item);
+                subscription.cancel();
+            }
+        };
+        calendar.schedulePublisher(clock, Runnable::run).subscribe(subscriber);
+
+        subscriber.subscription.request(5);
+        subscriber.subscription.request(5);
+
+        assertEquals(1, subscriber.received.size());
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    public void testPublisherRejectsNonPositiveRequest() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        calendar.schedulePublisher(clock, Runnable::run).subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertTrue(subscriber.received.isEmpty());
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<WorkPeriod> {
+        Flow.Subscription subscription;
+        final List<WorkPeriod> received = new ArrayList<>();
+        boolean completed;
+        Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(WorkPeriod item) {
+            received.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
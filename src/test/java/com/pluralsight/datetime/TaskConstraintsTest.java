@@ -0,0 +1,230 @@
+package com.pluralsight.datetime;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.time.*;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class TaskConstraintsTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Europe/London");
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+
+    private final Clock clock = Clock.fixed(MONDAY.atStartOfDay(ZONE).toInstant(), ZONE);
+    private Calendar calendar;
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Before
+    public void setup() {
+        calendar = new Calendar().addWorkPeriods(Utils.generateWorkPeriods(MONDAY, 10));
+    }
+
+    @Test
+    public void testNotBeforeDelaysTaskAndLaterTaskFillsEarlierRoom() {
+        Task late = new Task(60, "late").notBefore(MONDAY.plusDays(2).atTime(9, 0));
+        Task early = new Task(30, "early");
+        calendar.addTask(late);
+        calendar.addTask(early);
+
+        Map<Task, List<LocalDateTime>> starts = partStarts(calendar.createSchedule(clock));
+
+        assertEquals(List.of(MONDAY.plusDays(2).atTime(9, 0)), starts.get(late));
+        assertEquals(List.of(MONDAY.atTime(9, 0)), starts.get(early));
+    }
+
+    @Test
+    public void testWindowedTaskPlacedUnsplitInsideWindow() {
+        Task filler = new Task(3, 0, "filler");
+        Task morning = new Task(60, "morning").between(LocalTime.of(9, 0), LocalTime.of(12, 30));
+        Task backfill = new Task(30, "backfill");
+        calendar.addTask(filler);
+        calendar.addTask(morning);
+        calendar.addTask(backfill);
+
+        Schedule schedule = calendar.createSchedule(clock);
+        Map<Task, List<LocalDateTime>> starts = partStarts(schedule);
+
+        assertTrue(schedule.isSuccessful());
+        assertEquals(List.of(MONDAY.plusDays(1).atTime(9, 0)), starts.get(morning));
+        assertEquals(List.of(MONDAY.atTime(12, 0)), starts.get(backfill));
+    }
+
+    @Test
+    public void testWindowStartingInsidePeriodSplitsIt() {
+        Task late = new Task(60, "late morning").between(LocalTime.of(10, 0), LocalTime.of(12, 0));
+        Task after = new Task(30, "after");
+        calendar.addTask(late);
+        calendar.addTask(after);
+
+        Schedule schedule = calendar.createSchedule(clock);
+        Map<Task, List<LocalDateTime>> starts = partStarts(schedule);
+
+        assertTrue(schedule.isSuccessful());
+        assertEquals(List.of(MONDAY.atTime(10, 0)), starts.get(late));
+        assertEquals(List.of(MONDAY.atTime(11, 0)), starts.get(after));
+        WorkPeriod before = schedule.getScheduledPeriods().get(0);
+        assertEquals(MONDAY.atTime(9, 0), before.getStartTime());
+        assertEquals(MONDAY.atTime(10, 0), before.getEndTime());
+        assertTrue(before.getTaskParts().isEmpty());
+        assertEquals(MONDAY.atTime(12, 30), schedule.getScheduledPeriods().get(1).getEndTime());
+    }
+
+    @Test
+    public void testNotBeforeInsideOnlyPeriodStartsThere() {
+        calendar = new Calendar().addWorkPeriod(new WorkPeriod(MONDAY.atTime(9, 0), MONDAY.atTime(12, 30)));
+        Task task = new Task(60, "task").notBefore(MONDAY.atTime(10, 0));
+        calendar.addTask(task);
+
+        Schedule schedule = calendar.createSchedule(clock);
+
+        assertTrue(schedule.isSuccessful());
+        assertEquals(List.of(MONDAY.atTime(10, 0)), partStarts(schedule).get(task));
+    }
+
+    @Test
+    public void testSplitTaskStartsInsidePeriodAtEarliestStart() {
+        Task task = new Task(4, 0, "long").notBefore(MONDAY.atTime(10, 0));
+        calendar.addTask(task);
+
+        Schedule schedule = calendar.createSchedule(clock);
+
+        assertEquals(List.of(MONDAY.atTime(10, 0), MONDAY.atTime(13, 30)), partStarts(schedule).get(task));
+        assertEquals(Duration.ofMinutes(150), schedule.getScheduledPeriods().get(1).getTaskParts().get(0).getDuration());
+    }
+
+    @Test
+    public void testSuccessorStartsAfterConstrainedPredecessor() {
+        Task first = new Task(60, "first").notBefore(MONDAY.plusDays(1).atTime(13, 30));
+        Task second = new Task(30, "second").after(first);
+        calendar.addTask(second);
+        calendar.addTask(first);
+
+        Map<Task, List<LocalDateTime>> starts = partStarts(calendar.createSchedule(clock));
+
+        assertEquals(List.of(MONDAY.plusDays(1).atTime(14, 30)), starts.get(second));
+    }
+
+    @Test
+    public void testUnplaceableTaskAndDependentsLeftOut() {
+        Task tooLong = new Task(60, "too long").between(LocalTime.of(9, 0), LocalTime.of(9, 30));
+        Task dependent = new Task(30, "dependent").after(tooLong);
+        Task other = new Task(30, "other");
+        calendar.addTask(tooLong);
+        calendar.addTask(dependent);
+        calendar.addTask(other);
+
+        Schedule schedule = calendar.createSchedule(clock);
+        Map<Task, List<LocalDateTime>> starts = partStarts(schedule);
+
+        assertFalse(schedule.isSuccessful());
+        assertEquals(Set.of(other), starts.keySet());
+    }
+
+    @Test
+    public void testConstraintsSetInCalendarNotInFork() {
+        Task task = new Task(60, "task");
+        calendar.addTask(task);
+        Calendar whatIf = calendar.fork();
+        long version = calendar.getVersion();
+
+        calendar.setTaskNotBefore(task.getId(), MONDAY.plusDays(1).atTime(9, 0));
+        calendar.setTaskWindow(task.getId(), LocalTime.of(13, 30), LocalTime.of(17, 0));
+
+        assertEquals(version + 2, calendar.getVersion());
+        assertFalse(task.isConstrained());
+        assertEquals(List.of(MONDAY.plusDays(1).atTime(13, 30)), partStarts(calendar.createSchedule(clock)).get(task));
+        assertEquals(List.of(MONDAY.atTime(9, 0)), partStarts(whatIf.createSchedule(clock)).get(task));
+    }
+
+    @Test
+    public void testRollingSchedulerAndIteratorFallBackToFullPlacement() {
+        calendar.addTask(new Task(4, 0, "long"));
+        calendar.addTask(new Task(60, "afternoon").between(LocalTime.of(13, 30), LocalTime.of(17, 0)));
+        List<WorkPeriod> expected = calendar.createSchedule(clock).getScheduledPeriods();
+
+        List<WorkPeriod> lazy = new ArrayList<>();
+        calendar.scheduledPeriods(clock).forEachRemaining(lazy::add);
+
+        assertEquals(expected, new RollingScheduler(calendar).createSchedule(clock).getScheduledPeriods());
+        assertEquals(expected, lazy);
+    }
+
+    @Test
+    public void testManyConstrainedTasksAllPlacedWithinConstraints() {
+        calendar = new Calendar().addWorkPeriods(Utils.generateWorkPeriods(MONDAY, 3_000));
+        Random random = new Random(7);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            Task t = new Task(15 + random.nextInt(4) * 15, "task " + i)
+                    .notBefore(MONDAY.plusDays(random.nextInt(1_000)).atTime(9 + random.nextInt(8), 0));
+            if (i % 2 == 0) {
+                t = t.between(LocalTime.of(9, 0), LocalTime.of(12, 30));
+            }
+            tasks.add(t);
+            calendar.addTask(t);
+        }
+
+        Schedule schedule = calendar.createSchedule(clock);
+        Map<Task, List<LocalDateTime>> starts = partStarts(schedule);
+
+        assertTrue(schedule.isSuccessful());
+        for (Task t : tasks) {
+            List<LocalDateTime> taskStarts = starts.get(t);
+            assertFalse(taskStarts.get(0).isBefore(t.getEarliestStart()));
+            if (t.getWindowStart() != null) {
+                assertEquals(1, taskStarts.size());
+                LocalDateTime end = taskStarts.get(0).plus(t.getDuration());
+                assertFalse(taskStarts.get(0).toLocalTime().isBefore(t.getWindowStart()));
+                assertFalse(end.isAfter(end.toLocalDate().atTime(t.getWindowEnd())));
+            }
+        }
+    }
+
+    @Test
+    public void testDenseMorningTasksFillMorningsInOrder() {
+        List<WorkPeriod> periods = Utils.generateWorkPeriods(MONDAY, 5_000);
+        calendar = new Calendar().addWorkPeriods(periods);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            Task t = new Task(60, "task " + i).between(LocalTime.of(9, 0), LocalTime.of(12, 30));
+            tasks.add(t);
+            calendar.addTask(t);
+        }
+
+        Schedule schedule = calendar.createSchedule(clock);
+        Map<Task, List<LocalDateTime>> starts = partStarts(schedule);
+
+        assertTrue(schedule.isSuccessful());
+        for (int i = 0; i < tasks.size(); i++) {
+            // three hours of tasks in each 3.5-hour morning, and none in the afternoons
+            LocalDateTime morning = periods.get(2 * (i / 3)).getStartTime();
+            assertEquals(List.of(morning.plusHours(i % 3)), starts.get(tasks.get(i)));
+        }
+    }
+
+    @Test
+    public void testEmptyWindowRejected() {
+        thrown.expect(IllegalArgumentException.class);
+        new Task(30, "").between(LocalTime.NOON, LocalTime.NOON);
+    }
+
+    // The start of each part of each task in the schedule, in order
+    private static Map<Task, List<LocalDateTime>> partStarts(Schedule schedule) {
+        Map<Task, List<LocalDateTime>> starts = new HashMap<>();
+        for (WorkPeriod p : schedule.getScheduledPeriods()) {
+            LocalDateTime start = p.getStartTime();
+            for (TaskPart tp : p.getTaskParts()) {
+                starts.computeIfAbsent(tp.getOwner(), t -> new ArrayList<>()).add(start);
+                start = start.plus(tp.getDuration());
+            }
+        }
+        return starts;
+    }
+}
@@ -0,0 +1,41 @@
+package com.pluralsight.datetime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Times the topological ordering of a random 100k-task dependency graph, with up to four predecessors
+ * per task, drawn from the preceding thousand tasks.
+ */
+public class TaskGraphBenchmark {
+
+    private static final int TASKS = 100_000;
+    private static final int ITERATIONS = 20;
+
+    public static void main(String[] args) {
+        Random random = new Random(1);
+        List<Task> tasks = new ArrayList<>();
+        int edges = 0;
+        for (int i = 0; i < TASKS; i++) {
+            Task t = new Task(1, "t" + i);
+            for (int p = random.nextInt(5); p > 0 && i > 0; p--, edges++) {
+                t = t.after(tasks.get(Math.max(0, i - 1 - random.nextInt(1000))));
+            }
+            tasks.add(t);
+        }
+        // reverse priority, so that every dependency has to be honoured explicitly
+        List<Task> byPriority = new ArrayList<>(tasks);
+        java.util.Collections.reverse(byPriority);
+
+        for (int i = 0; i < ITERATIONS; i++) {  // warm-up
+            TaskGraph.topologicalOrder(byPriority);
+        }
+        long t0 = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            TaskGraph.topologicalOrder(byPriority);
+        }
+        long nanos = (System.nanoTime() - t0) / ITERATIONS;
+        System.out.printf("%,d tasks, %,d dependencies: %,d us per ordering%n", TASKS, edges, nanos / 1000);
+    }
+}
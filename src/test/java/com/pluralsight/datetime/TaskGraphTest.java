@@ -0,0 +1,80 @@
+package com.pluralsight.datetime;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TaskGraphTest {
+
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void testNoDependenciesKeepsOrder() {
+        List<Task> tasks = List.of(new Task(10, "a"), new Task(10, "b"));
+        assertSame(tasks, TaskGraph.topologicalOrder(tasks));
+    }
+
+    @Test
+    public void testPredecessorsFirst() {
+        Task a = new Task(10, "a");
+        Task b = new Task(10, "b");
+        Task c = new Task(10, "c");
+        a = a.after(c);
+        c = c.after(b);
+
+        assertEquals(List.of(b, c, a), TaskGraph.topologicalOrder(List.of(a, b, c)));
+    }
+
+    @Test
+    public void testTaskBecomingReadyGoesAheadOfLaterTasks() {
+        Task x = new Task(10, "x");
+        Task y = new Task(10, "y").after(x);
+        Task z1 = new Task(10, "z1");
+        Task z2 = new Task(10, "z2");
+        Task z3 = new Task(10, "z3");
+
+        assertEquals(List.of(x, y, z1, z2, z3), TaskGraph.topologicalOrder(List.of(x, y, z1, z2, z3)));
+    }
+
+    @Test
+    public void testCycleReported() {
+        Task a = new Task(10, "a");
+        Task b = new Task(10, "b");
+        Task c = new Task(10, "c");
+        a = a.after(c);
+        b = b.after(a);
+        c = c.after(b);
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("Task dependencies form a cycle: \"b\" -> \"c\" -> \"a\" -> \"b\"");
+        TaskGraph.topologicalOrder(List.of(a, b, c));
+    }
+
+    @Test
+    public void testUnknownPredecessorRejected() {
+        Task a = new Task(10, "a").after(new Task(10, "elsewhere"));
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("Predecessor \"elsewhere\" of task \"a\" is not in the calendar");
+        TaskGraph.topologicalOrder(List.of(a));
+    }
+
+    @Test
+    public void testLongChain() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            Task t = new Task(1, "t" + i);
+            if (i > 0) t = t.after(tasks.get(i - 1));
+            tasks.add(t);
+        }
+        List<Task> reversed = new ArrayList<>(tasks);
+        Collections.reverse(reversed);
+
+        assertEquals(tasks, TaskGraph.topologicalOrder(reversed));
+    }
+}
@@ -0,0 +1,64 @@
+package com.pluralsight.datetime;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TimingWheelTest {
+
+    @Test
+    public void testTimersExpireOnceWhenDeadlineReached() {
+        Random random = new Random(42);
+        TimingWheel<Long> wheel = new TimingWheel<>(1_000);
+        for (int i = 0; i < 10_000; i++) {
+            // skewed towards near deadlines, but reaching several levels up
+            long deadline = 1_001 + (long) (Math.pow(random.nextDouble(), 4) * 50_000_000L);
+            wheel.schedule(deadline, deadline);
+        }
+        List<Long> fired = new ArrayList<>();
+
+        while (wheel.size() > 0) {
+            long from = wheel.getCurrentTick();
+            long to = from + 1 + random.nextInt(5_000);
+            wheel.advanceTo(to, deadline -> {
+                assertTrue(deadline > from && deadline <= to);
+                fired.add(deadline);
+            });
+        }
+
+        assertEquals(10_000, fired.size());
+        for (int i = 1; i < fired.size(); i++) {
+            assertTrue(fired.get(i - 1) <= fired.get(i));
+        }
+    }
+
+    @Test
+    public void testCancelledTimerDoesNotFire() {
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+        TimingWheel.Timer<String> cancelled = wheel.schedule(5_000, "cancelled");
+        wheel.schedule(5_000, "kept");
+        wheel.cancel(cancelled);
+        wheel.cancel(cancelled);
+        List<String> fired = new ArrayList<>();
+
+        wheel.advanceTo(10_000, fired::add);
+
+        assertEquals(List.of("kept"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testPastDeadlineFiresAtNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(100);
+        wheel.schedule(50, "late");
+        List<String> fired = new ArrayList<>();
+
+        wheel.advanceTo(101, fired::add);
+
+        assertEquals(List.of("late"), fired);
+    }
+}